@@ -32,17 +32,20 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.IModBusEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.fml.loading.FMLPaths;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 import shadows.apotheosis.advancements.AdvancementTriggers;
 import shadows.apotheosis.adventure.AdventureModule;
+import shadows.apotheosis.adventure.affix.AffixCooldowns;
 import shadows.apotheosis.adventure.client.BossSpawnMessage;
 import shadows.apotheosis.adventure.net.RadialStateChangeMessage;
 import shadows.apotheosis.compat.PatchouliCompat;
 import shadows.apotheosis.core.attributeslib.AttributesLib;
 import shadows.apotheosis.core.mobfx.MobFxLib;
 import shadows.apotheosis.ench.EnchModule;
+import shadows.apotheosis.ench.library.LibraryDeltaMessage;
 import shadows.apotheosis.ench.table.ClueMessage;
 import shadows.apotheosis.garden.GardenModule;
 import shadows.apotheosis.potion.PotionModule;
@@ -50,6 +53,7 @@ import shadows.apotheosis.spawn.SpawnerModule;
 import shadows.apotheosis.util.ModuleCondition;
 import shadows.apotheosis.util.ParticleMessage;
 import shadows.apotheosis.util.RarityIngredient;
+import shadows.apotheosis.util.RecipeIndex;
 import shadows.apotheosis.village.VillageModule;
 import shadows.placebo.config.Configuration;
 import shadows.placebo.network.MessageHelper;
@@ -126,9 +130,14 @@ public class Apotheosis {
         if (config.hasChanged()) config.save();
         bus.post(new ApotheosisConstruction());
         bus.addListener(this::init);
+        bus.addListener(AffixCooldowns::registerCap);
         MinecraftForge.EVENT_BUS.addListener(this::reloads);
         MinecraftForge.EVENT_BUS.addListener(this::trackCooldown);
         MinecraftForge.EVENT_BUS.addListener(this::cmds);
+        MinecraftForge.EVENT_BUS.addGenericListener(Entity.class, AffixCooldowns::attach);
+        MinecraftForge.EVENT_BUS.addListener(AffixCooldowns::removeLegacyData);
+        MinecraftForge.EVENT_BUS.addListener(RecipeIndex::tagsUpdated);
+        if (FMLEnvironment.dist.isClient()) MinecraftForge.EVENT_BUS.addListener(RecipeIndex::recipesUpdated);
         if (ModList.get().isLoaded("patchouli")) PatchouliCompat.register();
         Apoth.RecipeTypes.FLETCHING.getClass(); // Static init wew
     }
@@ -139,6 +148,7 @@ public class Apotheosis {
         MessageHelper.registerMessage(CHANNEL, 1, new BossSpawnMessage(null, 0));
         MessageHelper.registerMessage(CHANNEL, 2, new ClueMessage(0, null, false));
         MessageHelper.registerMessage(CHANNEL, 4, new RadialStateChangeMessage());
+        MessageHelper.registerMessage(CHANNEL, 5, new LibraryDeltaMessage(null, null, null, null));
         e.enqueueWork(() -> {
             AdvancementTriggers.init();
             CraftingHelper.register(new ModuleCondition.Serializer());
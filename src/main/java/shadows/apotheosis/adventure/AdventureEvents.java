@@ -1,7 +1,6 @@
 package shadows.apotheosis.adventure;
 
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import net.minecraft.core.BlockPos;
@@ -15,7 +14,6 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.MobSpawnType;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.monster.Monster;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.entity.projectile.AbstractArrow;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
@@ -35,13 +33,17 @@ import net.minecraftforge.event.entity.player.PlayerEvent.BreakSpeed;
 import net.minecraftforge.event.entity.player.PlayerEvent.HarvestCheck;
 import net.minecraftforge.event.level.BlockEvent;
 import net.minecraftforge.event.level.BlockEvent.BreakEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import shadows.apotheosis.Apoth;
 import shadows.apotheosis.Apotheosis.ApotheosisCommandEvent;
-import shadows.apotheosis.adventure.affix.Affix;
+import shadows.apotheosis.adventure.NearestPlayerIndex.NearbyPlayer;
 import shadows.apotheosis.adventure.affix.AffixHelper;
 import shadows.apotheosis.adventure.affix.AffixInstance;
+import shadows.apotheosis.adventure.affix.AffixProgram.Hook;
+import shadows.apotheosis.adventure.affix.ArrowAffixSnapshot;
+import shadows.apotheosis.adventure.affix.EquipmentAffixes;
 import shadows.apotheosis.adventure.affix.effect.TelepathicAffix;
 import shadows.apotheosis.adventure.affix.reforging.ReforgingMenu;
 import shadows.apotheosis.adventure.affix.socket.gem.GemManager;
@@ -52,13 +54,11 @@ import shadows.apotheosis.adventure.commands.LootifyCommand;
 import shadows.apotheosis.adventure.commands.ModifierCommand;
 import shadows.apotheosis.adventure.commands.RarityCommand;
 import shadows.apotheosis.adventure.commands.SocketCommand;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
 import shadows.apotheosis.adventure.loot.LootCategory;
 import shadows.apotheosis.adventure.loot.LootController;
 import shadows.placebo.events.AnvilLandEvent;
 import shadows.placebo.events.GetEnchantmentLevelEvent;
 import shadows.placebo.events.ItemUseEvent;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class AdventureEvents {
 
@@ -77,8 +77,9 @@ public class AdventureEvents {
     public void affixModifiers(ItemAttributeModifierEvent e) {
         ItemStack stack = e.getItemStack();
         if (stack.hasTag()) {
-            Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
-            affixes.forEach((afx, inst) -> inst.addModifiers(e.getSlotType(), e::addModifier));
+            for (AffixInstance inst : AffixHelper.getProgram(stack).get(Hook.MODIFIERS)) {
+                inst.addModifiers(e.getSlotType(), e::addModifier);
+            }
         }
     }
 
@@ -106,11 +107,11 @@ public class AdventureEvents {
                     }
                 }
                 if (bow.isEmpty()) return;
-                Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(bow);
-                affixes.values().forEach(a -> {
-                    a.onArrowFired(living, arrow);
-                });
+                for (AffixInstance inst : AffixHelper.getProgram(bow).get(Hook.ARROW_FIRED)) {
+                    inst.onArrowFired(living, arrow);
+                }
                 AffixHelper.copyFrom(bow, arrow);
+                ArrowAffixSnapshot.attach(arrow, bow);
             }
         }
     }
@@ -121,8 +122,9 @@ public class AdventureEvents {
     @SubscribeEvent
     public void impact(ProjectileImpactEvent e) {
         if (e.getProjectile() instanceof AbstractArrow arrow) {
-            Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(arrow);
-            affixes.values().forEach(inst -> inst.onArrowImpact(arrow, e.getRayTraceResult(), e.getRayTraceResult().getType()));
+            for (AffixInstance inst : AffixHelper.getAffixes(arrow).values()) {
+                inst.onArrowImpact(arrow, e.getRayTraceResult(), e.getRayTraceResult().getType());
+            }
         }
     }
 
@@ -131,21 +133,13 @@ public class AdventureEvents {
         Apoth.Affixes.MAGICAL.ifPresent(afx -> afx.onHurt(e));
         DamageSource src = e.getSource();
         LivingEntity ent = e.getEntity();
-        float amount = e.getAmount();
-        for (ItemStack s : ent.getAllSlots()) {
-            Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(s);
-            for (AffixInstance inst : affixes.values()) {
-                amount = inst.onHurt(src, ent, amount);
-            }
-        }
-        e.setAmount(amount);
+        e.setAmount(EquipmentAffixes.of(ent).onHurt(src, ent, e.getAmount()));
     }
 
     @SubscribeEvent
     public void onItemUse(ItemUseEvent e) {
         ItemStack s = e.getItemStack();
-        Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(s);
-        for (AffixInstance inst : affixes.values()) {
+        for (AffixInstance inst : AffixHelper.getProgram(s).get(Hook.ITEM_USE)) {
             InteractionResult type = inst.onItemUse(e.getContext());
             if (type != null) {
                 e.setCanceled(true);
@@ -157,21 +151,14 @@ public class AdventureEvents {
     @SubscribeEvent
     public void shieldBlock(ShieldBlockEvent e) {
         ItemStack stack = e.getEntity().getUseItem();
-        Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
-        float blocked = e.getBlockedDamage();
-        for (AffixInstance inst : affixes.values()) {
-            blocked = inst.onShieldBlock(e.getEntity(), e.getDamageSource(), blocked);
-        }
+        float blocked = AffixHelper.getProgram(stack).onShieldBlock(e.getEntity(), e.getDamageSource(), e.getBlockedDamage());
         if (blocked != e.getOriginalBlockedDamage()) e.setBlockedDamage(blocked);
     }
 
     @SubscribeEvent
     public void blockBreak(BreakEvent e) {
         ItemStack stack = e.getPlayer().getMainHandItem();
-        Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
-        for (AffixInstance inst : affixes.values()) {
-            inst.onBlockBreak(e.getPlayer(), e.getLevel(), e.getPos(), e.getState());
-        }
+        AffixHelper.getProgram(stack).onBlockBreak(e.getPlayer(), e.getLevel(), e.getPos(), e.getState());
     }
 
     @SubscribeEvent(priority = EventPriority.HIGH)
@@ -182,7 +169,7 @@ public class AdventureEvents {
             if (p.random.nextFloat() <= chance) {
                 Entity ent = e.getEntity();
                 e.getDrops()
-                    .add(new ItemEntity(ent.level, ent.getX(), ent.getY(), ent.getZ(), GemManager.createRandomGemStack(p.random, (ServerLevel) p.level, p.getLuck(), IDimensional.matches(p.getLevel()), IStaged.matches(p)), 0, 0, 0));
+                    .add(new ItemEntity(ent.level, ent.getX(), ent.getY(), ent.getZ(), GemManager.createRandomGemStack(p.random, (ServerLevel) p.level, p.getLuck(), p), 0, 0, 0));
             }
         }
     }
@@ -225,9 +212,9 @@ public class AdventureEvents {
     @SubscribeEvent(priority = EventPriority.LOW)
     public void special(SpecialSpawn e) {
         if (e.getSpawnReason() == MobSpawnType.NATURAL && e.getLevel().getRandom().nextFloat() <= AdventureConfig.randomAffixItem && e.getEntity() instanceof Monster) {
-            Player player = e.getLevel().getNearestPlayer(e.getX(), e.getY(), e.getZ(), -1, false);
-            if (player == null) return;
-            ItemStack affixItem = LootController.createRandomLootItem(e.getLevel().getRandom(), null, player, (ServerLevel) e.getEntity().level);
+            NearbyPlayer nearest = NearestPlayerIndex.getNearest(e.getLevel(), e.getX(), e.getY(), e.getZ());
+            if (nearest == null) return;
+            ItemStack affixItem = LootController.createRandomLootItem(e.getLevel().getRandom(), null, nearest.luck(), nearest.stages(), (ServerLevel) e.getEntity().level);
             if (affixItem.isEmpty()) return;
             affixItem.getOrCreateTag().putBoolean("apoth_rspawn", true);
             LootCategory cat = LootCategory.forItem(affixItem);
@@ -237,6 +224,11 @@ public class AdventureEvents {
         }
     }
 
+    @SubscribeEvent
+    public void unload(LevelEvent.Unload e) {
+        NearestPlayerIndex.invalidate(e.getLevel());
+    }
+
     @SubscribeEvent
     public void gemSmashing(AnvilLandEvent e) {
         Level level = e.getLevel();
@@ -260,7 +252,9 @@ public class AdventureEvents {
     public void enchLevels(GetEnchantmentLevelEvent e) {
         boolean isReentrant = reentrantLock.get().getAndSet(true);
         if (isReentrant) return;
-        AffixHelper.streamAffixes(e.getStack()).forEach(inst -> inst.getEnchantmentLevels(e.getEnchantments()));
+        for (AffixInstance inst : AffixHelper.getProgram(e.getStack()).get(Hook.ENCHANTMENT_LEVELS)) {
+            inst.getEnchantmentLevels(e.getEnchantments());
+        }
         reentrantLock.get().set(false);
     }
 
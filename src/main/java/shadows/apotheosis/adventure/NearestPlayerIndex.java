@@ -0,0 +1,192 @@
+package shadows.apotheosis.adventure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import shadows.apotheosis.adventure.compat.GameStagesCompat;
+
+/**
+ * A per-tick, per-level spatial index of players, used to resolve the nearest player for spawn-time handlers.<br>
+ * Several handlers react to each {@link net.minecraftforge.event.entity.living.LivingSpawnEvent.SpecialSpawn}, and each would otherwise perform
+ * a linear scan of every player in the level via {@link Level#getNearestPlayer(double, double, double, double, boolean)}.
+ * <p>
+ * The index is rebuilt lazily the first time it is queried in a given game tick. Player positions are sampled at that time,
+ * so results may lag behind players that move later in the same tick.
+ * The index is only touched from the server thread. Queries from other threads or non-{@link ServerLevel} accessors
+ * (such as world generation regions) fall back to the vanilla lookup.
+ */
+public class NearestPlayerIndex {
+
+    /**
+     * Below this many players, a linear scan of the snapshot beats walking the grid.
+     */
+    private static final int LINEAR_THRESHOLD = 16;
+
+    /**
+     * Maximum ring radius (in chunks) walked before giving up on the grid and scanning the snapshot linearly.
+     */
+    private static final int MAX_RINGS = 8;
+
+    private static final Map<Level, Snapshot> SNAPSHOTS = new Reference2ObjectOpenHashMap<>();
+
+    /**
+     * Resolves the nearest non-spectator player to the given position, with no distance limit.<br>
+     * Equivalent to {@code level.getNearestPlayer(x, y, z, -1, false)}.
+     *
+     * @return The nearest player, or null if the level has no players.
+     */
+    @Nullable
+    public static NearbyPlayer getNearest(LevelAccessor level, double x, double y, double z) {
+        if (level instanceof ServerLevel sLevel && sLevel.getServer().isSameThread()) {
+            return getSnapshot(sLevel).nearest(x, y, z);
+        }
+        Player player = level.getNearestPlayer(x, y, z, -1, false);
+        return player == null ? null : new NearbyPlayer(player, player.getX(), player.getY(), player.getZ(), 0);
+    }
+
+    /**
+     * Drops the index for a level. Called when the level is unloaded.
+     */
+    public static void invalidate(LevelAccessor level) {
+        if (level instanceof Level lvl && !lvl.isClientSide) SNAPSHOTS.remove(lvl);
+    }
+
+    private static Snapshot getSnapshot(ServerLevel level) {
+        Snapshot snapshot = SNAPSHOTS.get(level);
+        if (snapshot == null || snapshot.gameTime != level.getGameTime()) {
+            snapshot = new Snapshot(level);
+            SNAPSHOTS.put(level, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * A player captured by the index, alongside the player-derived spawn context that handlers would otherwise recompute.
+     */
+    public static final class NearbyPlayer {
+
+        private final Player player;
+        private final double x, y, z;
+        private final int order;
+        private float luck = Float.NaN;
+        private boolean stagesResolved;
+        private Set<String> stages;
+
+        private NearbyPlayer(Player player, double x, double y, double z, int order) {
+            this.player = player;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.order = order;
+        }
+
+        public Player player() {
+            return this.player;
+        }
+
+        /**
+         * @return The player's luck, as of the first call in this tick.
+         */
+        public float luck() {
+            if (Float.isNaN(this.luck)) this.luck = this.player.getLuck();
+            return this.luck;
+        }
+
+        /**
+         * @return The player's game stages, as of the first call in this tick.
+         * @see GameStagesCompat#getStages(Player)
+         */
+        @Nullable
+        public Set<String> stages() {
+            if (!this.stagesResolved) {
+                this.stages = GameStagesCompat.getStages(this.player);
+                this.stagesResolved = true;
+            }
+            return this.stages;
+        }
+
+        private double distanceToSqr(double x, double y, double z) {
+            double dx = this.x - x, dy = this.y - y, dz = this.z - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final long gameTime;
+        private final NearbyPlayer[] players;
+        private final Long2ObjectMap<List<NearbyPlayer>> grid = new Long2ObjectOpenHashMap<>();
+
+        private Snapshot(ServerLevel level) {
+            this.gameTime = level.getGameTime();
+            List<NearbyPlayer> list = new ArrayList<>(level.players().size());
+            for (ServerPlayer player : level.players()) {
+                if (player.isSpectator()) continue;
+                NearbyPlayer entry = new NearbyPlayer(player, player.getX(), player.getY(), player.getZ(), list.size());
+                list.add(entry);
+                long key = ChunkPos.asLong(SectionPos.posToSectionCoord(entry.x), SectionPos.posToSectionCoord(entry.z));
+                this.grid.computeIfAbsent(key, k -> new ArrayList<>(2)).add(entry);
+            }
+            this.players = list.toArray(new NearbyPlayer[list.size()]);
+        }
+
+        @Nullable
+        private NearbyPlayer nearest(double x, double y, double z) {
+            if (this.players.length <= LINEAR_THRESHOLD) return this.nearestLinear(x, y, z);
+
+            int cx = SectionPos.posToSectionCoord(x);
+            int cz = SectionPos.posToSectionCoord(z);
+            NearbyPlayer best = null;
+            double bestDist = Double.MAX_VALUE;
+            for (int r = 0; r <= MAX_RINGS; r++) {
+                for (int dx = -r; dx <= r; dx++) {
+                    for (int dz = -r; dz <= r; dz++) {
+                        if (Math.abs(dx) != r && Math.abs(dz) != r) continue; // Only visit the outer ring.
+                        List<NearbyPlayer> cell = this.grid.get(ChunkPos.asLong(cx + dx, cz + dz));
+                        if (cell == null) continue;
+                        for (NearbyPlayer p : cell) {
+                            double dist = p.distanceToSqr(x, y, z);
+                            if (best == null || dist < bestDist || dist == bestDist && p.order < best.order) {
+                                best = p;
+                                bestDist = dist;
+                            }
+                        }
+                    }
+                }
+                // Anything outside of ring r is at least r full chunks away horizontally.
+                double bound = r * 16D;
+                if (best != null && bestDist <= bound * bound) return best;
+            }
+            return this.nearestLinear(x, y, z);
+        }
+
+        @Nullable
+        private NearbyPlayer nearestLinear(double x, double y, double z) {
+            NearbyPlayer best = null;
+            double bestDist = -1;
+            for (NearbyPlayer p : this.players) {
+                double dist = p.distanceToSqr(x, y, z);
+                if (bestDist == -1 || dist < bestDist) {
+                    best = p;
+                    bestDist = dist;
+                }
+            }
+            return best;
+        }
+    }
+
+}
@@ -259,20 +259,72 @@ public abstract class Affix extends TypeKeyedBase<Affix> {
     public abstract boolean canApplyTo(ItemStack stack, LootCategory cat, LootRarity rarity);
 
     /**
-     * Checks if the affix is still on cooldown, if a cooldown was set via {@link #startCooldown(Affix, int, LivingEntity)}
+     * Checks if the result of {@link #canApplyTo} depends on the stack itself, rather than only the category and rarity.<br>
+     * Affixes which return false are pre-filtered into the loot candidate index, and are never re-checked against the stack during loot generation.
+     *
+     * @return If {@link #canApplyTo} must be evaluated against the specific stack.
+     * @see AffixManager#getCandidates(AffixType, LootCategory, LootRarity)
      */
-    public static boolean isOnCooldown(ResourceLocation id, int cooldown, LivingEntity entity) {
-        long lastApplied = entity.getPersistentData().getLong("apoth.affix_cooldown." + id.toString());
-        return lastApplied != 0 && lastApplied + cooldown >= entity.level.getGameTime();
+    public boolean isNbtSensitive() {
+        return false;
+    }
+
+    /**
+     * Checks if the effect with the given id is still on cooldown, if a cooldown was set via {@link #startCooldown(ResourceLocation, int, LivingEntity)}
+     */
+    public static boolean isOnCooldown(ResourceLocation id, LivingEntity entity) {
+        return isOnCooldown(AffixCooldowns.getIndex(id), entity);
     }
 
     /**
-     * Records the current time as a cooldown tracker. Used in conjunction with {@link #isOnCooldown(Affix, int, LivingEntity)}
+     * Checks if the effect with the given cooldown index is still on cooldown.
+     *
+     * @see AffixCooldowns#getIndex(ResourceLocation)
+     */
+    public static boolean isOnCooldown(int index, LivingEntity entity) {
+        AffixCooldowns cooldowns = entity.getCapability(AffixCooldowns.CAPABILITY).orElse(null);
+        return cooldowns != null && cooldowns.isOnCooldown(index);
+    }
+
+    /**
+     * Starts a cooldown for the effect with the given id. Used in conjunction with {@link #isOnCooldown(ResourceLocation, LivingEntity)}
      * <p>
-     * Use of this method is problematic if the id is not unique for the effect, as is the case with {@link Gem#getId()} and {@link GemBonus#getId()}.
+     * The id must be unique for the effect. Gem bonuses should use {@link GemBonus#getCooldownIndex(ItemStack)}, since neither {@link Gem#getId()} nor {@link GemBonus#getId()} is unique on its own.
+     *
+     * @param cooldown The duration of the cooldown, in ticks.
+     */
+    public static void startCooldown(ResourceLocation id, int cooldown, LivingEntity entity) {
+        startCooldown(AffixCooldowns.getIndex(id), cooldown, entity);
+    }
+
+    /**
+     * Starts a cooldown for the effect with the given cooldown index.
+     *
+     * @see AffixCooldowns#getIndex(ResourceLocation)
+     */
+    public static void startCooldown(int index, int cooldown, LivingEntity entity) {
+        entity.getCapability(AffixCooldowns.CAPABILITY).ifPresent(c -> c.startCooldown(index, cooldown));
+    }
+
+    /**
+     * Checks if the affix is still on cooldown, if a cooldown was set via {@link #startCooldown(ResourceLocation, LivingEntity)}
+     *
+     * @deprecated Use {@link #isOnCooldown(ResourceLocation, LivingEntity)} with {@link #startCooldown(ResourceLocation, int, LivingEntity)}, which records the duration up front.
+     */
+    @Deprecated
+    public static boolean isOnCooldown(ResourceLocation id, int cooldown, LivingEntity entity) {
+        AffixCooldowns cooldowns = entity.getCapability(AffixCooldowns.CAPABILITY).orElse(null);
+        return cooldowns != null && cooldowns.isOnCooldown(AffixCooldowns.getIndex(id), cooldown);
+    }
+
+    /**
+     * Records the current time as a cooldown tracker. Used in conjunction with {@link #isOnCooldown(ResourceLocation, int, LivingEntity)}
+     *
+     * @deprecated Use {@link #startCooldown(ResourceLocation, int, LivingEntity)}.
      */
+    @Deprecated
     public static void startCooldown(ResourceLocation id, LivingEntity entity) {
-        entity.getPersistentData().putLong("apoth.affix_cooldown." + id.toString(), entity.level.getGameTime());
+        entity.getCapability(AffixCooldowns.CAPABILITY).ifPresent(c -> c.recordStart(AffixCooldowns.getIndex(id)));
     }
 
     public static String fmt(float f) {
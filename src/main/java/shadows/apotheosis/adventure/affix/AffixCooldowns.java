@@ -0,0 +1,264 @@
+package shadows.apotheosis.adventure.affix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedInEvent;
+import shadows.apotheosis.Apotheosis;
+
+/**
+ * Tracks the cooldowns started by {@link Affix#startCooldown} for a single entity.<br>
+ * Cooldown ids are interned to a dense int index, and each entity stores a primitive map from that index to the game time at which the cooldown expires.
+ * <p>
+ * Only unexpired cooldowns, and legacy start times within the last {@link #LEGACY_WINDOW} ticks, are written when the entity is saved.
+ * <p>
+ * This capability is not synced, so cooldowns are only tracked on the logical server.
+ */
+public class AffixCooldowns {
+
+    public static final Capability<AffixCooldowns> CAPABILITY = CapabilityManager.get(new CapabilityToken<>(){});
+    public static final ResourceLocation KEY = Apotheosis.loc("affix_cooldowns");
+
+    /**
+     * Prefix of the persistent data keys used to store cooldowns prior to this capability.
+     */
+    private static final String LEGACY_PREFIX = "apoth.affix_cooldown.";
+
+    /**
+     * Key of the sub-tag holding the start times recorded by the deprecated {@link Affix#startCooldown(ResourceLocation, LivingEntity)}.
+     */
+    private static final String LEGACY_STARTS = "legacy_starts";
+
+    /**
+     * Number of ticks a legacy start time is retained for. Legacy cooldowns have no stored duration, so any start older than this is treated as expired.
+     */
+    public static final int LEGACY_WINDOW = 20 * 60 * 60;
+
+    private static final Object2IntMap<ResourceLocation> INDICES = new Object2IntOpenHashMap<>();
+    private static final List<ResourceLocation> IDS = new ArrayList<>();
+
+    static {
+        INDICES.defaultReturnValue(-1);
+    }
+
+    protected final LivingEntity entity;
+    protected Int2LongMap expiry;
+    protected Int2LongMap legacyStarts;
+
+    public AffixCooldowns(LivingEntity entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * Checks if the cooldown with the given index has not yet expired.
+     */
+    public boolean isOnCooldown(int index) {
+        return this.expiry != null && this.expiry.get(index) >= this.entity.level.getGameTime();
+    }
+
+    /**
+     * Starts the cooldown with the given index, which will expire after the given number of ticks.
+     */
+    public void startCooldown(int index, int cooldown) {
+        this.getOrCreate().put(index, this.entity.level.getGameTime() + cooldown);
+    }
+
+    /**
+     * @return The number of ticks remaining on the cooldown with the given index, or zero if it is not on cooldown.
+     */
+    public long getRemaining(int index) {
+        if (this.expiry == null) return 0;
+        return Math.max(0, this.expiry.get(index) - this.entity.level.getGameTime());
+    }
+
+    /**
+     * Records the current time as the start of the cooldown with the given index, for cooldowns whose duration is only known when they are checked.
+     *
+     * @deprecated Only used to support {@link Affix#startCooldown(ResourceLocation, LivingEntity)}. Use {@link #startCooldown(int, int)}.
+     */
+    @Deprecated
+    public void recordStart(int index) {
+        if (this.legacyStarts == null) this.legacyStarts = new Int2LongOpenHashMap();
+        this.legacyStarts.put(index, this.entity.level.getGameTime());
+    }
+
+    /**
+     * Checks if the given duration has not yet passed since {@link #recordStart(int)} was called for the given index.
+     *
+     * @deprecated Only used to support {@link Affix#isOnCooldown(ResourceLocation, int, LivingEntity)}. Use {@link #isOnCooldown(int)}.
+     */
+    @Deprecated
+    public boolean isOnCooldown(int index, int cooldown) {
+        if (this.legacyStarts == null || !this.legacyStarts.containsKey(index)) return false;
+        return this.legacyStarts.get(index) + cooldown >= this.entity.level.getGameTime();
+    }
+
+    /**
+     * Collects all active cooldowns, for display purposes.<br>
+     * Server-side only, since this capability is not synced to clients.
+     *
+     * @return A map of cooldown id to the number of ticks remaining.
+     */
+    public Object2LongMap<ResourceLocation> getActiveCooldowns() {
+        Object2LongMap<ResourceLocation> active = new Object2LongOpenHashMap<>();
+        if (this.expiry == null) return active;
+        long time = this.entity.level.getGameTime();
+        for (Int2LongMap.Entry e : this.expiry.int2LongEntrySet()) {
+            if (e.getLongValue() >= time) active.put(byIndex(e.getIntKey()), e.getLongValue() - time);
+        }
+        return active;
+    }
+
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        if (this.expiry != null) {
+            long time = this.entity.level.getGameTime();
+            for (Int2LongMap.Entry e : this.expiry.int2LongEntrySet()) {
+                if (e.getLongValue() >= time) tag.putLong(byIndex(e.getIntKey()).toString(), e.getLongValue());
+            }
+        }
+        this.pruneLegacyStarts();
+        if (this.legacyStarts != null) {
+            CompoundTag starts = new CompoundTag();
+            for (Int2LongMap.Entry e : this.legacyStarts.int2LongEntrySet()) {
+                starts.putLong(byIndex(e.getIntKey()).toString(), e.getLongValue());
+            }
+            tag.put(LEGACY_STARTS, starts);
+        }
+        return tag;
+    }
+
+    public void load(CompoundTag tag) {
+        this.expiry = null;
+        this.legacyStarts = null;
+        for (String key : tag.getAllKeys()) {
+            if (tag.getTagType(key) != Tag.TAG_LONG) continue;
+            ResourceLocation id = ResourceLocation.tryParse(key);
+            if (id != null) this.getOrCreate().put(getIndex(id), tag.getLong(key));
+        }
+        CompoundTag starts = tag.getCompound(LEGACY_STARTS);
+        for (String key : starts.getAllKeys()) {
+            ResourceLocation id = ResourceLocation.tryParse(key);
+            if (id == null) continue;
+            if (this.legacyStarts == null) this.legacyStarts = new Int2LongOpenHashMap();
+            this.legacyStarts.put(getIndex(id), starts.getLong(key));
+        }
+        this.pruneLegacyStarts();
+    }
+
+    /**
+     * Discards legacy start times which are older than {@link #LEGACY_WINDOW}, or which lie in the future.
+     */
+    protected void pruneLegacyStarts() {
+        if (this.legacyStarts == null) return;
+        long time = this.entity.level.getGameTime();
+        for (LongIterator it = this.legacyStarts.values().iterator(); it.hasNext();) {
+            long start = it.nextLong();
+            if (start > time || time - start > LEGACY_WINDOW) it.remove();
+        }
+        if (this.legacyStarts.isEmpty()) this.legacyStarts = null;
+    }
+
+    protected Int2LongMap getOrCreate() {
+        if (this.expiry == null) {
+            this.expiry = new Int2LongOpenHashMap();
+            this.expiry.defaultReturnValue(Long.MIN_VALUE);
+        }
+        return this.expiry;
+    }
+
+    /**
+     * Interns a cooldown id.
+     *
+     * @return The index of the id, which is stable for the lifetime of the game.
+     */
+    public static synchronized int getIndex(ResourceLocation id) {
+        int index = INDICES.getInt(id);
+        if (index == -1) {
+            index = IDS.size();
+            IDS.add(id);
+            INDICES.put(id, index);
+        }
+        return index;
+    }
+
+    public static synchronized ResourceLocation byIndex(int index) {
+        return IDS.get(index);
+    }
+
+    public static void registerCap(RegisterCapabilitiesEvent e) {
+        e.register(AffixCooldowns.class);
+    }
+
+    public static void attach(AttachCapabilitiesEvent<Entity> e) {
+        if (e.getObject() instanceof LivingEntity living) {
+            e.addCapability(KEY, new Provider(new AffixCooldowns(living)));
+        }
+    }
+
+    /**
+     * Removes the cooldown keys that older versions wrote into each player's persistent data.<br>
+     * Start times within the last {@link #LEGACY_WINDOW} ticks are kept, so recent cooldowns checked through {@link Affix#isOnCooldown(ResourceLocation, int, LivingEntity)} carry over.
+     */
+    public static void removeLegacyData(PlayerLoggedInEvent e) {
+        CompoundTag data = e.getEntity().getPersistentData();
+        AffixCooldowns cooldowns = e.getEntity().getCapability(CAPABILITY).orElse(null);
+        data.getAllKeys().removeIf(k -> {
+            if (!k.startsWith(LEGACY_PREFIX) || data.getTagType(k) != Tag.TAG_LONG) return false;
+            ResourceLocation id = ResourceLocation.tryParse(k.substring(LEGACY_PREFIX.length()));
+            if (cooldowns != null && id != null) {
+                if (cooldowns.legacyStarts == null) cooldowns.legacyStarts = new Int2LongOpenHashMap();
+                cooldowns.legacyStarts.put(getIndex(id), data.getLong(k));
+            }
+            return true;
+        });
+        if (cooldowns != null) cooldowns.pruneLegacyStarts();
+    }
+
+    private static class Provider implements ICapabilitySerializable<CompoundTag> {
+
+        private final AffixCooldowns cooldowns;
+        private final LazyOptional<AffixCooldowns> opt;
+
+        Provider(AffixCooldowns cooldowns) {
+            this.cooldowns = cooldowns;
+            this.opt = LazyOptional.of(() -> cooldowns);
+        }
+
+        @Override
+        public <T> LazyOptional<T> getCapability(Capability<T> cap, Direction side) {
+            return CAPABILITY.orEmpty(cap, this.opt);
+        }
+
+        @Override
+        public CompoundTag serializeNBT() {
+            return this.cooldowns.save();
+        }
+
+        @Override
+        public void deserializeNBT(CompoundTag tag) {
+            this.cooldowns.load(tag);
+        }
+    }
+
+}
@@ -32,6 +32,8 @@ import shadows.placebo.util.StepFunction;
 public class AffixHelper {
 
     public static final ResourceLocation AFFIX_CACHED_OBJECT = Apotheosis.loc("affixes");
+    public static final ResourceLocation PROGRAM_CACHED_OBJECT = Apotheosis.loc("affix_program");
+    public static final ResourceLocation NAME_CACHED_OBJECT = Apotheosis.loc("affix_name");
 
     public static final String DISPLAY = "display";
     public static final String LORE = "Lore";
@@ -75,6 +77,18 @@ public class AffixHelper {
         return Component.Serializer.fromJson(afxData.getString(NAME));
     }
 
+    /**
+     * Gets the parsed affix name of an item. The name is only re-parsed when the affix data changes.
+     *
+     * @param stack The stack being queried.
+     * @return The cached name template, {@link AffixName#INVALID} if the stored name is malformed, or null if the stack has no affix name.
+     */
+    @Nullable
+    public static AffixName getNameTemplate(ItemStack stack) {
+        if (!stack.hasTag()) return null;
+        return CachedObjectSource.getOrCreate(stack, NAME_CACHED_OBJECT, AffixName::parse, CachedObject.hashSubkey(AFFIX_DATA));
+    }
+
     /**
      * Gets the affixes of an item. Changes to this map will not write-back to the affixes on the itemstack.
      *
@@ -104,6 +118,18 @@ public class AffixHelper {
         return map;
     }
 
+    /**
+     * Gets the compiled {@link AffixProgram} of an item, which buckets the affixes by the hooks they implement.<br>
+     * Prefer this over {@link #getAffixes(ItemStack)} when dispatching a specific hook.
+     *
+     * @param stack The stack being queried.
+     * @return The compiled program for the stack, or {@link AffixProgram#EMPTY} if the stack has no affixes.
+     */
+    public static AffixProgram getProgram(ItemStack stack) {
+        if (!stack.hasTag()) return AffixProgram.EMPTY;
+        return CachedObjectSource.getOrCreate(stack, PROGRAM_CACHED_OBJECT, s -> AffixProgram.compile(getAffixes(s).values()), CachedObject.hashSubkey(AFFIX_DATA));
+    }
+
     public static Stream<AffixInstance> streamAffixes(ItemStack stack) {
         return getAffixes(stack).values().stream();
     }
@@ -132,12 +158,14 @@ public class AffixHelper {
         if (stack.hasTag() && stack.getTagElement(AFFIX_DATA) != null) {
             CompoundTag afxData = stack.getTagElement(AFFIX_DATA).copy();
             afxData.putString(CATEGORY, LootCategory.forItem(stack).getName());
+            afxData.putInt(SocketHelper.SOCKETS, SocketHelper.getSockets(stack));
             entity.getPersistentData().put(AFFIX_DATA, afxData);
         }
     }
 
     @Nullable
     public static LootCategory getShooterCategory(Entity entity) {
+        if (entity instanceof AbstractArrow arrow) return ArrowAffixSnapshot.get(arrow).category();
         CompoundTag afxData = entity.getPersistentData().getCompound(AFFIX_DATA);
         if (afxData != null && afxData.contains(CATEGORY)) {
             return LootCategory.byId(afxData.getString(CATEGORY));
@@ -145,22 +173,14 @@ public class AffixHelper {
         return null;
     }
 
+    /**
+     * Gets the affixes of the weapon that fired an arrow, from the arrow's {@link ArrowAffixSnapshot}.
+     *
+     * @param arrow The arrow being queried.
+     * @return An immutable map of all affixes on the arrow, or an empty map if none were found.
+     */
     public static Map<Affix, AffixInstance> getAffixes(AbstractArrow arrow) {
-        Map<Affix, AffixInstance> map = new HashMap<>();
-        CompoundTag afxData = arrow.getPersistentData().getCompound(AFFIX_DATA);
-        SocketHelper.loadSocketAffix(arrow, map);
-        if (afxData != null && afxData.contains(AFFIXES)) {
-            CompoundTag affixes = afxData.getCompound(AFFIXES);
-            LootRarity rarity = getRarity(afxData);
-            if (rarity == null) rarity = LootRarity.COMMON;
-            for (String key : affixes.getAllKeys()) {
-                Affix affix = AffixManager.INSTANCE.getValue(new ResourceLocation(key));
-                if (affix == null) continue;
-                float lvl = affixes.getFloat(key);
-                map.put(affix, new AffixInstance(affix, ItemStack.EMPTY, rarity, lvl));
-            }
-        }
-        return map;
+        return ArrowAffixSnapshot.get(arrow).affixes();
     }
 
     public static Stream<AffixInstance> streamAffixes(AbstractArrow arrow) {
@@ -1,9 +1,13 @@
 package shadows.apotheosis.adventure.affix;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
 
+import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.fml.loading.FMLEnvironment;
 import shadows.apotheosis.Apoth.Affixes;
 import shadows.apotheosis.Apotheosis;
@@ -26,6 +30,9 @@ import shadows.apotheosis.adventure.affix.effect.TelepathicAffix;
 import shadows.apotheosis.adventure.affix.effect.ThunderstruckAffix;
 import shadows.apotheosis.adventure.affix.socket.SocketAffix;
 import shadows.apotheosis.adventure.client.AdventureModuleClient;
+import shadows.apotheosis.adventure.loot.LootCategory;
+import shadows.apotheosis.adventure.loot.LootRarity;
+import shadows.apotheosis.core.attributeslib.client.TooltipCache;
 import shadows.placebo.json.PlaceboJsonReloadListener;
 
 public class AffixManager extends PlaceboJsonReloadListener<Affix> {
@@ -34,6 +41,13 @@ public class AffixManager extends PlaceboJsonReloadListener<Affix> {
 
     private Multimap<AffixType, Affix> byType = ImmutableMultimap.of();
 
+    /**
+     * Index of loot candidates, keyed by category, and then by [{@link AffixType#ordinal()}][{@link LootRarity#ordinal()}].
+     *
+     * @see #getCandidates(AffixType, LootCategory, LootRarity)
+     */
+    private Map<LootCategory, Affix[][][]> candidates = new ConcurrentHashMap<>();
+
     public AffixManager() {
         super(AdventureModule.LOGGER, "affixes", true, true);
     }
@@ -42,6 +56,7 @@ public class AffixManager extends PlaceboJsonReloadListener<Affix> {
     protected void beginReload() {
         super.beginReload();
         this.byType = ImmutableMultimap.of();
+        this.candidates = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -50,11 +65,17 @@ public class AffixManager extends PlaceboJsonReloadListener<Affix> {
         ImmutableMultimap.Builder<AffixType, Affix> builder = ImmutableMultimap.builder();
         this.registry.values().forEach(a -> builder.put(a.type, a));
         this.byType = builder.build();
+        Map<LootCategory, Affix[][][]> candidates = new ConcurrentHashMap<>();
+        for (LootCategory cat : LootCategory.VALUES) {
+            candidates.put(cat, this.computeCandidates(cat));
+        }
+        this.candidates = candidates;
         Preconditions.checkArgument(Affixes.SOCKET.get() instanceof SocketAffix, "Socket Affix not registered!");
         Preconditions.checkArgument(Affixes.DURABLE.get() instanceof DurableAffix, "Durable Affix not registered!");
         if (!FMLEnvironment.production && FMLEnvironment.dist.isClient()) {
             AdventureModuleClient.checkAffixLangKeys();
         }
+        if (FMLEnvironment.dist.isClient()) TooltipCache.clear();
     }
 
     @Override
@@ -83,4 +104,28 @@ public class AffixManager extends PlaceboJsonReloadListener<Affix> {
         return this.byType;
     }
 
+    /**
+     * Gets all affixes of a given type that may be applied to items of the given category and rarity.<br>
+     * For affixes where {@link Affix#isNbtSensitive()} is true, {@link Affix#canApplyTo} must still be checked against the target stack.
+     *
+     * @return An array of candidate affixes. This array is shared, and must not be modified.
+     */
+    public Affix[] getCandidates(AffixType type, LootCategory cat, LootRarity rarity) {
+        Affix[][][] byCat = this.candidates.get(cat);
+        if (byCat == null) byCat = this.candidates.computeIfAbsent(cat, this::computeCandidates);
+        return byCat[type.ordinal()][rarity.ordinal()];
+    }
+
+    private Affix[][][] computeCandidates(LootCategory cat) {
+        AffixType[] types = AffixType.values();
+        Affix[][][] byCat = new Affix[types.length][LootRarity.values().size()][];
+        for (AffixType type : types) {
+            for (LootRarity rarity : LootRarity.values()) {
+                // Stack-independent affixes ignore the passed stack, so the empty stack is a safe stand-in.
+                byCat[type.ordinal()][rarity.ordinal()] = this.byType.get(type).stream().filter(a -> a.isNbtSensitive() || a.canApplyTo(ItemStack.EMPTY, cat, rarity)).toArray(Affix[]::new);
+            }
+        }
+        return byCat;
+    }
+
 }
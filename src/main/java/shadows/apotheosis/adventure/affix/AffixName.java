@@ -0,0 +1,76 @@
+package shadows.apotheosis.adventure.affix;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.contents.TranslatableContents;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * A parsed affix item name, as stored in {@link AffixHelper#NAME}.<br>
+ * Affix names are translatable components where one argument is replaced by the item's base name.
+ * The template itself is never modified, and {@link #bind(Component)} produces a new component for each base name.
+ */
+public final class AffixName {
+
+    /**
+     * Marker for names which could not be parsed, or are not translatable components.
+     */
+    public static final AffixName INVALID = new AffixName("", new Object[0], 0, Style.EMPTY, List.of());
+
+    private final String key;
+    private final Object[] args;
+    private final int nameIdx;
+    private final Style style;
+    private final List<Component> siblings;
+
+    private AffixName(String key, Object[] args, int nameIdx, Style style, List<Component> siblings) {
+        this.key = key;
+        this.args = args;
+        this.nameIdx = nameIdx;
+        this.style = style;
+        this.siblings = siblings;
+    }
+
+    /**
+     * Creates the full item name from this template.
+     *
+     * @param baseName The item's name without the affix name applied.
+     * @return A new component, which may be freely modified.
+     */
+    public Component bind(Component baseName) {
+        Object[] args = this.args.clone();
+        args[this.nameIdx] = baseName;
+        MutableComponent comp = MutableComponent.create(new TranslatableContents(this.key, args)).setStyle(this.style);
+        for (Component sibling : this.siblings)
+            comp.append(sibling);
+        return comp;
+    }
+
+    /**
+     * Parses the affix name stored on the given stack.
+     *
+     * @return The parsed name, {@link #INVALID} if the stored name is malformed, or null if the stack has no affix name.
+     */
+    @Nullable
+    public static AffixName parse(ItemStack stack) {
+        CompoundTag afxData = stack.getTagElement(AffixHelper.AFFIX_DATA);
+        if (afxData == null || !afxData.contains(AffixHelper.NAME, 8)) return null;
+        try {
+            Component component = Component.Serializer.fromJson(afxData.getString(AffixHelper.NAME));
+            if (component != null && component.getContents() instanceof TranslatableContents tContents) {
+                int idx = "misc.apotheosis.affix_name.four".equals(tContents.getKey()) ? 2 : 1;
+                Object[] args = tContents.getArgs();
+                if (idx < args.length) return new AffixName(tContents.getKey(), args.clone(), idx, component.getStyle(), List.copyOf(component.getSiblings()));
+            }
+        }
+        catch (Exception ex) {}
+        return INVALID;
+    }
+
+}
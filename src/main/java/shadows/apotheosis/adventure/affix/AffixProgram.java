@@ -0,0 +1,214 @@
+package shadows.apotheosis.adventure.affix;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.MobType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.entity.projectile.AbstractArrow;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.storage.loot.LootContext;
+import net.minecraft.world.phys.HitResult;
+import shadows.apotheosis.adventure.loot.LootRarity;
+
+/**
+ * An Affix Program is an immutable, pre-bucketed view of the affixes on a single stack.<br>
+ * Each {@link Hook} maps to a flat array containing only the instances whose {@link Affix} subclass actually overrides that hook,
+ * so hot paths (combat, block breaking, shield blocking) never dispatch into the no-op defaults on {@link Affix}.
+ * <p>
+ * Programs are cached per-stack via {@link AffixHelper#getProgram(ItemStack)}, and are invalidated alongside {@link AffixHelper#getAffixes(ItemStack)}.
+ */
+public final class AffixProgram {
+
+    public static final AffixProgram EMPTY = new AffixProgram(new AffixInstance[0]);
+
+    private static final Map<Class<?>, Set<Hook>> OVERRIDES = new ConcurrentHashMap<>();
+
+    private final AffixInstance[] all;
+    private final AffixInstance[][] byHook;
+
+    private AffixProgram(AffixInstance[] all) {
+        this.all = all;
+        Hook[] hooks = Hook.values();
+        this.byHook = new AffixInstance[hooks.length][];
+        for (Hook hook : hooks) {
+            List<AffixInstance> bucket = new ArrayList<>(all.length);
+            for (AffixInstance inst : all) {
+                if (getOverriddenHooks(inst.affix()).contains(hook)) bucket.add(inst);
+            }
+            this.byHook[hook.ordinal()] = bucket.toArray(new AffixInstance[bucket.size()]);
+        }
+    }
+
+    /**
+     * Compiles a program from a collection of affix instances.<br>
+     * The iteration order of the collection is preserved within each hook bucket.
+     */
+    public static AffixProgram compile(Collection<AffixInstance> instances) {
+        if (instances.isEmpty()) return EMPTY;
+        return new AffixProgram(instances.toArray(new AffixInstance[instances.size()]));
+    }
+
+    /**
+     * @return All affix instances in this program, regardless of which hooks they override.
+     */
+    public AffixInstance[] getAll() {
+        return this.all;
+    }
+
+    /**
+     * @return The instances that react to the given hook. Callers must not modify the returned array.
+     */
+    public AffixInstance[] get(Hook hook) {
+        return this.byHook[hook.ordinal()];
+    }
+
+    public boolean isEmpty() {
+        return this.all.length == 0;
+    }
+
+    public boolean has(Hook hook) {
+        return this.byHook[hook.ordinal()].length > 0;
+    }
+
+    /**
+     * @see AffixInstance#getDamageProtection(DamageSource)
+     * @return The sum of all protection values in this program.
+     */
+    public int getDamageProtection(DamageSource source) {
+        int prot = 0;
+        for (AffixInstance inst : this.get(Hook.DAMAGE_PROTECTION)) {
+            prot += inst.getDamageProtection(source);
+        }
+        return prot;
+    }
+
+    /**
+     * @see AffixInstance#getDamageBonus(MobType)
+     * @return The sum of all damage bonuses in this program.
+     */
+    public float getDamageBonus(MobType creatureType) {
+        float dmg = 0;
+        for (AffixInstance inst : this.get(Hook.DAMAGE_BONUS)) {
+            dmg += inst.getDamageBonus(creatureType);
+        }
+        return dmg;
+    }
+
+    /**
+     * @see AffixInstance#doPostHurt(LivingEntity, Entity)
+     */
+    public void doPostHurt(LivingEntity user, @Nullable Entity attacker) {
+        for (AffixInstance inst : this.get(Hook.POST_HURT)) {
+            inst.doPostHurt(user, attacker);
+        }
+    }
+
+    /**
+     * @see AffixInstance#onHurt(DamageSource, LivingEntity, float)
+     * @return The modified damage value, after all affixes have been applied in order.
+     */
+    public float onHurt(DamageSource src, LivingEntity ent, float amount) {
+        for (AffixInstance inst : this.get(Hook.HURT)) {
+            amount = inst.onHurt(src, ent, amount);
+        }
+        return amount;
+    }
+
+    /**
+     * @see AffixInstance#onShieldBlock(LivingEntity, DamageSource, float)
+     * @return The modified blocked damage, after all affixes have been applied in order.
+     */
+    public float onShieldBlock(LivingEntity entity, DamageSource source, float amount) {
+        for (AffixInstance inst : this.get(Hook.SHIELD_BLOCK)) {
+            amount = inst.onShieldBlock(entity, source, amount);
+        }
+        return amount;
+    }
+
+    /**
+     * @see AffixInstance#onBlockBreak(Player, LevelAccessor, BlockPos, BlockState)
+     */
+    public void onBlockBreak(Player player, LevelAccessor world, BlockPos pos, BlockState state) {
+        for (AffixInstance inst : this.get(Hook.BLOCK_BREAK)) {
+            inst.onBlockBreak(player, world, pos, state);
+        }
+    }
+
+    /**
+     * Computes (and caches) the set of hooks that the given affix's class overrides.
+     */
+    public static Set<Hook> getOverriddenHooks(Affix affix) {
+        return OVERRIDES.computeIfAbsent(affix.getClass(), AffixProgram::computeOverrides);
+    }
+
+    private static Set<Hook> computeOverrides(Class<?> clazz) {
+        Set<Hook> hooks = EnumSet.noneOf(Hook.class);
+        for (Hook hook : Hook.values()) {
+            if (hook.isOverriddenBy(clazz)) hooks.add(hook);
+        }
+        return Collections.unmodifiableSet(hooks);
+    }
+
+    /**
+     * Enumeration of the dispatchable methods on {@link Affix} that have a no-op default implementation.
+     */
+    public static enum Hook {
+        MODIFIERS("addModifiers", ItemStack.class, LootRarity.class, float.class, EquipmentSlot.class, BiConsumer.class),
+        DAMAGE_PROTECTION("getDamageProtection", ItemStack.class, LootRarity.class, float.class, DamageSource.class),
+        DAMAGE_BONUS("getDamageBonus", ItemStack.class, LootRarity.class, float.class, MobType.class),
+        POST_ATTACK("doPostAttack", ItemStack.class, LootRarity.class, float.class, LivingEntity.class, Entity.class),
+        POST_HURT("doPostHurt", ItemStack.class, LootRarity.class, float.class, LivingEntity.class, Entity.class),
+        ARROW_FIRED("onArrowFired", ItemStack.class, LootRarity.class, float.class, LivingEntity.class, AbstractArrow.class),
+        ITEM_USE("onItemUse", ItemStack.class, LootRarity.class, float.class, UseOnContext.class),
+        ARROW_IMPACT("onArrowImpact", AbstractArrow.class, LootRarity.class, float.class, HitResult.class, HitResult.Type.class),
+        SHIELD_BLOCK("onShieldBlock", ItemStack.class, LootRarity.class, float.class, LivingEntity.class, DamageSource.class, float.class),
+        BLOCK_BREAK("onBlockBreak", ItemStack.class, LootRarity.class, float.class, Player.class, LevelAccessor.class, BlockPos.class, BlockState.class),
+        DURABILITY("getDurabilityBonusPercentage", ItemStack.class, LootRarity.class, float.class, ServerPlayer.class),
+        HURT("onHurt", ItemStack.class, LootRarity.class, float.class, DamageSource.class, LivingEntity.class, float.class),
+        TELEPATHY("enablesTelepathy"),
+        ENCHANTMENT_LEVELS("getEnchantmentLevels", ItemStack.class, LootRarity.class, float.class, Map.class),
+        MODIFY_LOOT("modifyLoot", ItemStack.class, LootRarity.class, float.class, ObjectArrayList.class, LootContext.class);
+
+        private final String method;
+        private final Class<?>[] params;
+
+        private Hook(String method, Class<?>... params) {
+            this.method = method;
+            this.params = params;
+        }
+
+        /**
+         * Checks if the given class (or any superclass below {@link Affix}) overrides the method backing this hook.<br>
+         * If the method cannot be resolved, the hook is conservatively treated as overridden.
+         */
+        public boolean isOverriddenBy(Class<?> clazz) {
+            try {
+                return clazz.getMethod(this.method, this.params).getDeclaringClass() != Affix.class;
+            }
+            catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package shadows.apotheosis.adventure.affix;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.projectile.AbstractArrow;
+import net.minecraft.world.item.ItemStack;
+import shadows.apotheosis.Apoth.Affixes;
+import shadows.apotheosis.adventure.affix.socket.SocketHelper;
+import shadows.apotheosis.adventure.affix.socket.gem.GemInstance;
+import shadows.apotheosis.adventure.loot.LootCategory;
+import shadows.apotheosis.adventure.loot.LootRarity;
+
+/**
+ * An immutable snapshot of the affixes and gems an arrow inherited from the weapon that fired it.<br>
+ * The snapshot is held transiently on the arrow (see {@link Holder}), and is only rebuilt from the arrow's persistent data after the arrow is reloaded.
+ * <p>
+ * Affix instances in the snapshot are bound to {@link ItemStack#EMPTY}, as the firing stack is not available after the arrow is loaded.
+ *
+ * @param category The loot category of the firing weapon, or null if it could not be resolved.
+ * @param affixes  The affixes on the firing weapon.
+ * @param gems     The valid gems socketed in the firing weapon.
+ */
+public record ArrowAffixSnapshot(@Nullable LootCategory category, Map<Affix, AffixInstance> affixes, GemInstance[] gems) {
+
+    public static final ArrowAffixSnapshot EMPTY = new ArrowAffixSnapshot(null, ImmutableMap.of(), new GemInstance[0]);
+
+    /**
+     * Retrieves the snapshot attached to an arrow, loading it from the arrow's persistent data if necessary.
+     */
+    public static ArrowAffixSnapshot get(AbstractArrow arrow) {
+        Holder holder = (Holder) arrow;
+        ArrowAffixSnapshot snapshot = holder.apoth_getAffixSnapshot();
+        if (snapshot == null) {
+            CompoundTag afxData = arrow.getPersistentData().getCompound(AffixHelper.AFFIX_DATA);
+            snapshot = afxData.isEmpty() ? EMPTY : load(afxData);
+            holder.apoth_setAffixSnapshot(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Attaches a snapshot of the firing weapon to the arrow.<br>
+     * The weapon's affix data should also be copied to the arrow via {@link AffixHelper#copyFrom} so the snapshot can be restored on reload.
+     */
+    public static void attach(AbstractArrow arrow, ItemStack weapon) {
+        ((Holder) arrow).apoth_setAffixSnapshot(of(weapon));
+    }
+
+    /**
+     * Creates a snapshot from the firing weapon, reusing the resolved affixes and gems cached on the stack.
+     */
+    public static ArrowAffixSnapshot of(ItemStack weapon) {
+        Map<Affix, AffixInstance> stackAffixes = AffixHelper.getAffixes(weapon);
+        if (stackAffixes.isEmpty()) return EMPTY;
+        ImmutableMap.Builder<Affix, AffixInstance> affixes = ImmutableMap.builder();
+        for (AffixInstance inst : stackAffixes.values()) {
+            affixes.put(inst.affix(), new AffixInstance(inst.affix(), ItemStack.EMPTY, inst.rarity(), inst.level()));
+        }
+        return new ArrowAffixSnapshot(LootCategory.forItem(weapon), affixes.build(), SocketHelper.getValidGems(weapon));
+    }
+
+    /**
+     * Creates a snapshot from affix data that was previously written to an arrow by {@link AffixHelper#copyFrom}.
+     */
+    public static ArrowAffixSnapshot load(CompoundTag afxData) {
+        LootCategory cat = afxData.contains(AffixHelper.CATEGORY) ? LootCategory.byId(afxData.getString(AffixHelper.CATEGORY)) : null;
+        int sockets = afxData.getInt(SocketHelper.SOCKETS);
+
+        Map<Affix, AffixInstance> affixes = new LinkedHashMap<>();
+        if (sockets > 0) {
+            // The rarity is irrelevant for the socket affix, so we always pass the min rarity to the fake affix instance.
+            affixes.put(Affixes.SOCKET.get(), new AffixInstance(Affixes.SOCKET.get(), ItemStack.EMPTY, LootRarity.UNCOMMON, sockets));
+        }
+        if (afxData.contains(AffixHelper.AFFIXES)) {
+            CompoundTag affixData = afxData.getCompound(AffixHelper.AFFIXES);
+            LootRarity rarity = AffixHelper.getRarity(afxData);
+            if (rarity == null) rarity = LootRarity.COMMON;
+            for (String key : affixData.getAllKeys()) {
+                Affix affix = AffixManager.INSTANCE.getValue(new ResourceLocation(key));
+                if (affix == null) continue;
+                float lvl = affixData.getFloat(key);
+                affixes.put(affix, new AffixInstance(affix, ItemStack.EMPTY, rarity, lvl));
+            }
+        }
+
+        List<GemInstance> gems = new ArrayList<>();
+        if (cat != null && sockets > 0 && afxData.contains(SocketHelper.GEMS)) {
+            ListTag gemData = afxData.getList(SocketHelper.GEMS, Tag.TAG_COMPOUND);
+            int i = 0;
+            for (Tag tag : gemData) {
+                ItemStack gemStack = ItemStack.of((CompoundTag) tag);
+                gemStack.setCount(1);
+                GemInstance inst = GemInstance.socketed(cat, gemStack);
+                if (inst.isValidUnsocketed()) {
+                    if (inst.isValid()) gems.add(inst);
+                    i++;
+                }
+                if (i >= sockets) break;
+            }
+        }
+
+        return new ArrowAffixSnapshot(cat, ImmutableMap.copyOf(affixes), gems.toArray(new GemInstance[gems.size()]));
+    }
+
+    /**
+     * Interface injected onto {@link AbstractArrow} to hold the transient snapshot.
+     */
+    public static interface Holder {
+
+        @Nullable
+        ArrowAffixSnapshot apoth_getAffixSnapshot();
+
+        void apoth_setAffixSnapshot(ArrowAffixSnapshot snapshot);
+
+    }
+
+}
@@ -0,0 +1,143 @@
+package shadows.apotheosis.adventure.affix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.fml.ModList;
+import shadows.apotheosis.adventure.affix.AffixProgram.Hook;
+import shadows.apotheosis.adventure.compat.AdventureCuriosCompat;
+
+/**
+ * The combined {@link AffixProgram} of everything a single entity has equipped, including affixed Curios.<br>
+ * Each {@link Hook} maps to a flat array of instances, ordered by {@link LivingEntity#getAllSlots()} and then by curio slot,
+ * so handlers which previously walked every slot only iterate the instances that react to their hook.
+ * <p>
+ * Aggregates are cached on the entity. The cached aggregate is reused while the equipped stacks are unchanged and the entity has not ticked.
+ * Once per tick the per-stack programs are re-collected, and the merged arrays are only rebuilt if any of them changed.
+ */
+public final class EquipmentAffixes {
+
+    private static final boolean CURIOS = ModList.get().isLoaded("curios");
+
+    private ItemStack[] stacks;
+    private final AffixProgram[] programs;
+    private final AffixInstance[][] byHook;
+    private int tick;
+
+    private EquipmentAffixes(ItemStack[] stacks, AffixProgram[] programs, int tick) {
+        this.stacks = stacks;
+        this.programs = programs;
+        this.tick = tick;
+        Hook[] hooks = Hook.values();
+        this.byHook = new AffixInstance[hooks.length][];
+        for (Hook hook : hooks) {
+            List<AffixInstance> bucket = new ArrayList<>();
+            for (AffixProgram program : programs) {
+                for (AffixInstance inst : program.get(hook)) {
+                    bucket.add(inst);
+                }
+            }
+            this.byHook[hook.ordinal()] = bucket.toArray(new AffixInstance[bucket.size()]);
+        }
+    }
+
+    /**
+     * @return The instances on all equipment that react to the given hook. Callers must not modify the returned array.
+     */
+    public AffixInstance[] get(Hook hook) {
+        return this.byHook[hook.ordinal()];
+    }
+
+    /**
+     * @see AffixProgram#onHurt(DamageSource, LivingEntity, float)
+     */
+    public float onHurt(DamageSource src, LivingEntity ent, float amount) {
+        for (AffixInstance inst : this.get(Hook.HURT)) {
+            amount = inst.onHurt(src, ent, amount);
+        }
+        return amount;
+    }
+
+    /**
+     * @see AffixProgram#doPostHurt(LivingEntity, Entity)
+     */
+    public void doPostHurt(LivingEntity user, @Nullable Entity attacker) {
+        for (AffixInstance inst : this.get(Hook.POST_HURT)) {
+            inst.doPostHurt(user, attacker);
+        }
+    }
+
+    /**
+     * Retrieves the equipment affixes of the given entity, recomputing them if the cached aggregate is out of date.
+     */
+    public static EquipmentAffixes of(LivingEntity entity) {
+        Holder holder = (Holder) entity;
+        EquipmentAffixes cached = holder.apoth_getEquipmentAffixes();
+        ItemStack[] stacks = getEquipment(entity);
+        if (cached != null && cached.tick == entity.tickCount && sameElements(cached.stacks, stacks)) return cached;
+
+        AffixProgram[] programs = getPrograms(entity, stacks);
+        if (cached != null && sameElements(cached.programs, programs)) {
+            // Programs are cached per stack, so the same instances mean that no affixes have changed.
+            cached.tick = entity.tickCount;
+            cached.stacks = stacks;
+            return cached;
+        }
+
+        cached = new EquipmentAffixes(stacks, programs, entity.tickCount);
+        holder.apoth_setEquipmentAffixes(cached);
+        return cached;
+    }
+
+    private static ItemStack[] getEquipment(LivingEntity entity) {
+        List<ItemStack> list = new ArrayList<>(6);
+        for (ItemStack s : entity.getAllSlots()) {
+            list.add(s);
+        }
+        return list.toArray(new ItemStack[list.size()]);
+    }
+
+    private static AffixProgram[] getPrograms(LivingEntity entity, ItemStack[] stacks) {
+        List<AffixProgram> programs = new ArrayList<>(stacks.length);
+        for (ItemStack s : stacks) {
+            programs.add(AffixHelper.getProgram(s));
+        }
+        if (CURIOS) {
+            for (ItemStack s : AdventureCuriosCompat.getAffixedCurios(entity)) {
+                programs.add(AffixHelper.getProgram(s));
+            }
+        }
+        programs.removeIf(AffixProgram::isEmpty);
+        return programs.toArray(new AffixProgram[programs.size()]);
+    }
+
+    /**
+     * Checks if both arrays contain the same objects, by identity.
+     */
+    private static boolean sameElements(Object[] a, Object[] b) {
+        if (a.length != b.length) return false;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Implemented on {@link LivingEntity} via mixin to store the cached aggregate.
+     */
+    public static interface Holder {
+
+        @Nullable
+        EquipmentAffixes apoth_getEquipmentAffixes();
+
+        void apoth_setEquipmentAffixes(EquipmentAffixes affixes);
+
+    }
+
+}
@@ -26,6 +26,11 @@ public class DurableAffix extends Affix {
         return stack.isDamageableItem();
     }
 
+    @Override
+    public boolean isNbtSensitive() {
+        return true;
+    }
+
     @Override
     public void addInformation(ItemStack stack, LootRarity rarity, float level, Consumer<Component> list) {
         super.addInformation(stack, rarity, level * 100, list);
@@ -148,7 +148,7 @@ public class PotionAffix extends Affix {
         if (target.level.isClientSide()) return;
 
         int cooldown = this.getCooldown(rarity);
-        if (cooldown != 0 && isOnCooldown(this.getId(), cooldown, target)) return;
+        if (cooldown != 0 && isOnCooldown(this.getId(), target)) return;
         EffectData data = this.values.get(rarity);
         var inst = target.getEffect(this.effect);
         if (this.stackOnReapply && inst != null) {
@@ -160,7 +160,7 @@ public class PotionAffix extends Affix {
         else {
             target.addEffect(data.build(this.effect, level));
         }
-        startCooldown(this.getId(), target);
+        startCooldown(this.getId(), cooldown, target);
     }
 
     @Override
@@ -22,12 +22,15 @@ import net.minecraftforge.items.wrapper.RecipeWrapper;
 import shadows.apotheosis.Apoth;
 import shadows.apotheosis.Apoth.RecipeTypes;
 import shadows.apotheosis.adventure.affix.salvaging.SalvagingRecipe.OutputData;
+import shadows.apotheosis.util.RecipeIndex;
 import shadows.placebo.cap.InternalItemHandler;
 import shadows.placebo.container.BlockEntityContainer;
 import shadows.placebo.container.FilteredSlot;
 
 public class SalvagingMenu extends BlockEntityContainer<SalvagingTableTile> {
 
+    private static final RecipeIndex<SalvagingRecipe> INDEX = new RecipeIndex<>(RecipeTypes.SALVAGING, SalvagingRecipe::getInput);
+
     protected final Player player;
     protected final InternalItemHandler inputInv = new InternalItemHandler(15);
 
@@ -141,6 +144,10 @@ public class SalvagingMenu extends BlockEntityContainer<SalvagingTableTile> {
     public static List<ItemStack> getBestPossibleSalvageResults(Level level, ItemStack stack) {
         var recipe = findMatch(level, stack);
         if (recipe == null) return Collections.emptyList();
+        return getBestPossibleSalvageResults(recipe, stack);
+    }
+
+    public static List<ItemStack> getBestPossibleSalvageResults(SalvagingRecipe recipe, ItemStack stack) {
         List<ItemStack> outputs = new ArrayList<>();
         for (OutputData d : recipe.getOutputs()) {
             ItemStack out = d.stack.copy();
@@ -152,10 +159,7 @@ public class SalvagingMenu extends BlockEntityContainer<SalvagingTableTile> {
 
     @Nullable
     public static SalvagingRecipe findMatch(Level level, ItemStack stack) {
-        for (var recipe : level.getRecipeManager().getAllRecipesFor(RecipeTypes.SALVAGING)) {
-            if (recipe.matches(stack)) return recipe;
-        }
-        return null;
+        return INDEX.findFirst(level.getRecipeManager(), stack);
     }
 
 }
@@ -14,15 +14,15 @@ import net.minecraft.world.item.TooltipFlag;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
+import shadows.placebo.block_entity.TickingEntityBlock;
 import shadows.placebo.container.ContainerUtil;
 import shadows.placebo.container.SimplerMenuProvider;
 
-public class SalvagingTableBlock extends Block implements EntityBlock {
+public class SalvagingTableBlock extends Block implements TickingEntityBlock {
 
     public SalvagingTableBlock(BlockBehaviour.Properties properties) {
         super(properties);
@@ -57,6 +57,9 @@ public class SalvagingTableBlock extends Block implements EntityBlock {
             for (int i = 0; i < salvTile.output.getSlots(); i++) {
                 popResource(world, pos, salvTile.output.getStackInSlot(i));
             }
+            for (ItemStack s : salvTile.queue) {
+                popResource(world, pos, s);
+            }
         }
         super.onRemove(state, world, pos, newState, isMoving);
     }
@@ -1,23 +1,45 @@
 package shadows.apotheosis.adventure.affix.salvaging;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ForgeCapabilities;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
 import shadows.apotheosis.Apoth;
+import shadows.apotheosis.util.RecipeIndex;
+import shadows.placebo.block_entity.TickingBlockEntity;
 import shadows.placebo.cap.InternalItemHandler;
 
-public class SalvagingTableTile extends BlockEntity {
+public class SalvagingTableTile extends BlockEntity implements TickingBlockEntity {
+
+    /**
+     * The number of items that may be waiting in the input queue.
+     */
+    public static final int QUEUE_SIZE = 16;
+
+    /**
+     * The maximum number of queued items salvaged per tick.
+     */
+    public static final int BATCH_SIZE = 8;
 
     public SalvagingTableTile(BlockPos pPos, BlockState pBlockState) {
         super(Apoth.Tiles.SALVAGING_TABLE.get(), pPos, pBlockState);
@@ -26,13 +48,126 @@ public class SalvagingTableTile extends BlockEntity {
     /**
      * "Real" output inventory, as reflected in the container menu.
      */
-    protected final InternalItemHandler output = new InternalItemHandler(6);
+    protected final InternalItemHandler output = new InternalItemHandler(6){
+        @Override
+        protected void onContentsChanged(int slot) {
+            SalvagingTableTile.this.outputBlocked = false;
+            SalvagingTableTile.this.setChanged();
+        }
+    };
+
+    /**
+     * Items inserted through automation, waiting to be salvaged. Each entry is a single item, along with the recipe resolved when it was inserted.
+     */
+    protected final Deque<QueuedItem> queue = new ArrayDeque<>(QUEUE_SIZE);
+
+    /**
+     * Set when the outputs of the item at the head of the queue did not fit, and cleared when the output inventory changes.
+     * While set, the queue is not processed.
+     */
+    protected boolean outputBlocked = false;
+
+    /**
+     * The number of items salvaged during the last tick. Zero while the queue is empty or blocked.
+     */
+    protected int lastSalvaged = 0;
 
     /**
      * External-facing inventory handler, which automatically salvages input items.
      */
     protected final LazyOptional<SalvagingItemHandler> itemHandler = LazyOptional.of(SalvagingItemHandler::new);
 
+    @Override
+    public void serverTick(Level level, BlockPos pos, BlockState state) {
+        if (this.queue.isEmpty() || this.outputBlocked) {
+            this.lastSalvaged = 0;
+            return;
+        }
+
+        int salvaged = 0;
+        boolean changed = false;
+        while (salvaged < BATCH_SIZE && !this.queue.isEmpty()) {
+            QueuedItem queued = this.queue.peekFirst();
+            ItemStack stack = queued.stack();
+            SalvagingRecipe recipe = queued.getRecipe(level);
+
+            if (recipe == null) {
+                // The recipe went away (such as after a reload), so the item can no longer be salvaged.
+                Block.popResource(level, pos.above(), this.queue.pollFirst().stack());
+                changed = true;
+                continue;
+            }
+
+            List<ItemStack> outputs = SalvagingMenu.getBestPossibleSalvageResults(recipe, stack);
+            if (!this.insertOutputs(outputs, true)) {
+                this.outputBlocked = true;
+                break;
+            }
+            this.insertOutputs(outputs, false);
+            this.queue.pollFirst();
+            salvaged++;
+        }
+
+        this.lastSalvaged = salvaged;
+        if (changed || salvaged > 0) this.setChanged();
+    }
+
+    /**
+     * Inserts all outputs into the output inventory.
+     *
+     * @param outputs  The outputs to insert. These stacks are not modified.
+     * @param simulate If the insertion should be simulated.
+     * @return If all outputs fit. If false and not simulating, some outputs may have been inserted.
+     */
+    protected boolean insertOutputs(List<ItemStack> outputs, boolean simulate) {
+        IntSet skipSlots = new IntOpenHashSet();
+        for (ItemStack out : outputs) {
+            // I've made an assumption with this logic that a Salvaging Recipe won't have two stacks with the same item in the output.
+            // Thus, if the size changes during a simulation, we can assume that part of that stack fit in that slot, and that any further insertions would fail.
+            for (int i = 0; i < this.output.getSlots(); i++) {
+                if (skipSlots.contains(i)) continue;
+                int size = out.getCount();
+                out = this.output.insertItem(i, out, simulate);
+                if (simulate && size != out.getCount()) skipSlots.add(i);
+                if (out.isEmpty()) break;
+            }
+            if (!out.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return If another item may be inserted into the input queue.
+     */
+    public boolean canAcceptInput() {
+        return this.queue.size() < QUEUE_SIZE;
+    }
+
+    /**
+     * @return If the queue is stalled because the output inventory is full.
+     */
+    public boolean isOutputBlocked() {
+        return this.outputBlocked;
+    }
+
+    /**
+     * @return The number of items salvaged during the last tick in which the queue was processed.
+     */
+    public int getLastSalvaged() {
+        return this.lastSalvaged;
+    }
+
+    /**
+     * @return A copy of the items waiting in the input queue.
+     */
+    public List<ItemStack> getQueuedItems() {
+        List<ItemStack> list = new ArrayList<>(this.queue.size());
+        for (QueuedItem queued : this.queue) {
+            list.add(queued.stack());
+        }
+        return list;
+    }
+
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, Direction side) {
         if (cap == ForgeCapabilities.ITEM_HANDLER) return this.itemHandler.cast();
@@ -42,15 +177,40 @@ public class SalvagingTableTile extends BlockEntity {
     @Override
     protected void saveAdditional(CompoundTag tag) {
         tag.put("output", this.output.serializeNBT());
+        ListTag queue = new ListTag();
+        for (QueuedItem queued : this.queue) {
+            queue.add(queued.stack().save(new CompoundTag()));
+        }
+        tag.put("queue", queue);
         super.saveAdditional(tag);
     }
 
     @Override
     public void load(CompoundTag tag) {
         if (tag.contains("output")) this.output.deserializeNBT(tag.getCompound("output"));
+        this.queue.clear();
+        ListTag queue = tag.getList("queue", Tag.TAG_COMPOUND);
+        for (int i = 0; i < queue.size(); i++) {
+            ItemStack s = ItemStack.of(queue.getCompound(i));
+            if (!s.isEmpty()) this.queue.add(new QueuedItem(s, null, 0));
+        }
+        this.outputBlocked = false;
         super.load(tag);
     }
 
+    /**
+     * A single queued item, and the recipe it matched when it was inserted.<br>
+     * The recipe is null for items loaded from disk, and is resolved again if recipes or tags have been reloaded since it was stored.
+     */
+    protected static record QueuedItem(ItemStack stack, @Nullable SalvagingRecipe recipe, int generation) {
+
+        @Nullable
+        SalvagingRecipe getRecipe(Level level) {
+            if (this.recipe != null && this.generation == RecipeIndex.getGeneration()) return this.recipe;
+            return SalvagingMenu.findMatch(level, this.stack);
+        }
+    }
+
     protected class SalvagingItemHandler implements IItemHandler {
 
         @Override
@@ -64,36 +224,24 @@ public class SalvagingTableTile extends BlockEntity {
             else return SalvagingTableTile.this.output.getStackInSlot(slot - 1);
         }
 
+        /**
+         * Accepts a single item into the input queue. Items are salvaged on the next tick(s), as long as the outputs fit.<br>
+         * A full queue rejects the insertion before any recipe lookup happens.
+         * <p>
+         * The recipe is resolved here, since items without a recipe must be rejected rather than queued.
+         * It is stored with the queued item, so the tick does not need to resolve it again.
+         */
         @Override
         public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
-            if (slot != 0) return stack;
-            List<ItemStack> outputs = SalvagingMenu.getBestPossibleSalvageResults(SalvagingTableTile.this.level, stack);
-            if (outputs.isEmpty()) return stack;
-            IntSet skipSlots = new IntOpenHashSet();
-            // Simulate inserting all outputs.
-            for (ItemStack out : outputs) {
-                // I've made an assumption with this logic that a Salvaging Recipe won't have two stacks with the same item in the output.
-                // Thus, if the size changes, we can assume that part of that stack fit in that slot, and that any further insertions would fail.
-                for (int i = 0; i < 6; i++) {
-                    if (skipSlots.contains(i)) continue;
-                    int size = out.getCount();
-                    out = SalvagingTableTile.this.output.insertItem(i, out, true); // Always simulate during this check.
-                    if (size != out.getCount()) skipSlots.add(i);
-                    if (out.isEmpty()) break;
-                }
-                if (!out.isEmpty()) return stack; // If any output fails to insert to the output inventory, we abort.
-            }
-            // Now, if we passed the checks we aren't simulating, do the actual insertion.
+            if (slot != 0 || stack.isEmpty() || !SalvagingTableTile.this.canAcceptInput()) return stack;
+            int generation = RecipeIndex.getGeneration();
+            SalvagingRecipe recipe = SalvagingMenu.findMatch(SalvagingTableTile.this.level, stack);
+            if (recipe == null) return stack;
             if (!simulate) {
-                for (ItemStack out : outputs) {
-                    for (int i = 0; i < 6; i++) {
-                        out = SalvagingTableTile.this.output.insertItem(i, out, false);
-                        if (out.isEmpty()) break;
-                    }
-                    if (!out.isEmpty()) return stack; // If any output fails to insert to the output inventory, we abort.
-                }
+                SalvagingTableTile.this.queue.addLast(new QueuedItem(ItemHandlerHelper.copyStackWithSize(stack, 1), recipe, generation));
+                SalvagingTableTile.this.setChanged();
             }
-            return ItemStack.EMPTY;
+            return ItemHandlerHelper.copyStackWithSize(stack, stack.getCount() - 1);
         }
 
         @Override
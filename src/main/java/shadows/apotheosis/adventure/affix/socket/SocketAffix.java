@@ -2,14 +2,9 @@ package shadows.apotheosis.adventure.affix.socket;
 
 import java.util.Map;
 import java.util.function.BiConsumer;
-import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
-import org.apache.commons.lang3.mutable.MutableFloat;
-
-import com.google.common.base.Predicates;
-
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerPlayer;
@@ -60,75 +55,115 @@ public final class SocketAffix extends Affix {
             return;
         }
 
-        SocketHelper.getGemInstances(socketed).forEach(inst -> inst.addModifiers(type, map));
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            inst.addModifiers(type, map);
+        }
     }
 
     @Override
     public int getDamageProtection(ItemStack socketed, LootRarity itemRarity, float numSockets, DamageSource source) {
-        return SocketHelper.getGemInstances(socketed).map(inst -> inst.getDamageProtection(source)).reduce(0, Integer::sum);
+        int prot = 0;
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            prot += inst.getDamageProtection(source);
+        }
+        return prot;
     }
 
     @Override
     public float getDamageBonus(ItemStack socketed, LootRarity itemRarity, float numSockets, MobType creatureType) {
-        return SocketHelper.getGemInstances(socketed).map(inst -> inst.getDamageBonus(creatureType)).reduce(Float::sum).orElse(0F);
+        float dmg = 0;
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            dmg += inst.getDamageBonus(creatureType);
+        }
+        return dmg;
     }
 
     @Override
     public void doPostAttack(ItemStack socketed, LootRarity itemRarity, float numSockets, LivingEntity user, Entity target) {
-        SocketHelper.getGemInstances(socketed).forEach(inst -> inst.doPostAttack(user, target));
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            inst.doPostAttack(user, target);
+        }
     }
 
     @Override
     public void doPostHurt(ItemStack socketed, LootRarity itemRarity, float numSockets, LivingEntity user, Entity attacker) {
-        SocketHelper.getGemInstances(socketed).forEach(inst -> inst.doPostHurt(user, attacker));
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            inst.doPostHurt(user, attacker);
+        }
     }
 
     @Override
     public void onArrowFired(ItemStack socketed, LootRarity itemRarity, float numSockets, LivingEntity user, AbstractArrow arrow) {
-        SocketHelper.getGemInstances(socketed).forEach(inst -> inst.onArrowFired(user, arrow));
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            inst.onArrowFired(user, arrow);
+        }
     }
 
     @Override
     @Nullable
     public InteractionResult onItemUse(ItemStack socketed, LootRarity itemRarity, float numSockets, UseOnContext useinst) {
-        return SocketHelper.getGemInstances(socketed).map(inst -> inst.onItemUse(useinst)).filter(Predicates.notNull()).max(InteractionResult::compareTo).orElse(null);
+        InteractionResult result = null;
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            InteractionResult type = inst.onItemUse(useinst);
+            if (type != null && (result == null || type.compareTo(result) > 0)) result = type;
+        }
+        return result;
     }
 
     @Override
     public void onArrowImpact(AbstractArrow arrow, LootRarity itemRarity, float numSockets, HitResult res, Type type) {
-        gems(arrow).forEach(inst -> inst.onArrowImpact(arrow, inst.gemStack(), inst.rarity(), res, type));
+        for (GemInstance inst : SocketHelper.getValidGems(arrow)) {
+            inst.onArrowImpact(arrow, inst.gemStack(), inst.rarity(), res, type);
+        }
     }
 
     @Override
     public float onShieldBlock(ItemStack socketed, LootRarity itemRarity, float numSockets, LivingEntity entity, DamageSource source, float amount) {
-        return SocketHelper.getGemInstances(socketed).map(inst -> inst.onShieldBlock(entity, source, amount)).max(Float::compareTo).orElse(amount);
+        GemInstance[] gems = SocketHelper.getValidGems(socketed);
+        if (gems.length == 0) return amount;
+        float blocked = Float.NEGATIVE_INFINITY;
+        for (GemInstance inst : gems) {
+            blocked = Math.max(blocked, inst.onShieldBlock(entity, source, amount));
+        }
+        return blocked;
     }
 
     @Override
     public void onBlockBreak(ItemStack socketed, LootRarity itemRarity, float numSockets, Player player, LevelAccessor world, BlockPos pos, BlockState state) {
-        SocketHelper.getGemInstances(socketed).forEach(inst -> inst.onBlockBreak(player, world, pos, state));
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            inst.onBlockBreak(player, world, pos, state);
+        }
     }
 
     @Override
     public float getDurabilityBonusPercentage(ItemStack socketed, LootRarity rarity, float level, ServerPlayer user) {
-        return (float) SocketHelper.getGemInstances(socketed).mapToDouble(inst -> inst.getDurabilityBonusPercentage(user)).sum();
+        float bonus = 0;
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            bonus += inst.getDurabilityBonusPercentage(user);
+        }
+        return bonus;
     }
 
     @Override
     public float onHurt(ItemStack socketed, LootRarity rarity, float level, DamageSource src, LivingEntity ent, float amount) {
-        MutableFloat mFloat = new MutableFloat(amount);
-        SocketHelper.getGemInstances(socketed).forEachOrdered(inst -> mFloat.setValue(inst.onHurt(src, ent, mFloat.getValue())));
-        return mFloat.getValue();
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            amount = inst.onHurt(src, ent, amount);
+        }
+        return amount;
     }
 
     @Override
     public void getEnchantmentLevels(ItemStack socketed, LootRarity rarity, float level, Map<Enchantment, Integer> enchantments) {
-        SocketHelper.getGemInstances(socketed).forEach(inst -> inst.getEnchantmentLevels(enchantments));
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            inst.getEnchantmentLevels(enchantments);
+        }
     }
 
     @Override
     public void modifyLoot(ItemStack socketed, LootRarity rarity, float level, ObjectArrayList<ItemStack> loot, LootContext ctx) {
-        SocketHelper.getGemInstances(socketed).forEach(inst -> inst.modifyLoot(loot, ctx));
+        for (GemInstance inst : SocketHelper.getValidGems(socketed)) {
+            inst.modifyLoot(loot, ctx);
+        }
     }
 
     @Override
@@ -136,8 +171,4 @@ public final class SocketAffix extends Affix {
         return SERIALIZER;
     }
 
-    private static Stream<GemInstance> gems(AbstractArrow arrow) {
-        return SocketHelper.getGemInstances(arrow);
-    }
-
 }
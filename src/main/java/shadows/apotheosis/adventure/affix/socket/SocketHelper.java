@@ -1,11 +1,15 @@
 package shadows.apotheosis.adventure.affix.socket;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
 import com.google.common.collect.ImmutableList;
 
 import net.minecraft.core.NonNullList;
@@ -16,17 +20,20 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.projectile.AbstractArrow;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import shadows.apotheosis.Apoth.Affixes;
 import shadows.apotheosis.Apotheosis;
 import shadows.apotheosis.adventure.affix.Affix;
 import shadows.apotheosis.adventure.affix.AffixHelper;
 import shadows.apotheosis.adventure.affix.AffixInstance;
+import shadows.apotheosis.adventure.affix.ArrowAffixSnapshot;
 import shadows.apotheosis.adventure.affix.socket.gem.Gem;
 import shadows.apotheosis.adventure.affix.socket.gem.GemInstance;
 import shadows.apotheosis.adventure.affix.socket.gem.GemItem;
 import shadows.apotheosis.adventure.event.GetItemSocketsEvent;
 import shadows.apotheosis.adventure.loot.LootCategory;
 import shadows.apotheosis.adventure.loot.LootRarity;
+import shadows.apotheosis.core.attributeslib.client.TooltipCache;
 import shadows.placebo.util.CachedObject;
 import shadows.placebo.util.CachedObject.CachedObjectSource;
 
@@ -38,19 +45,24 @@ import shadows.placebo.util.CachedObject.CachedObjectSource;
 public class SocketHelper {
 
     public static final ResourceLocation GEMS_CACHED_OBJECT = Apotheosis.loc("gems");
+    public static final ResourceLocation GEM_INSTANCES_CACHED_OBJECT = Apotheosis.loc("gem_instances");
+    public static final ResourceLocation SOCKETS_CACHED_OBJECT = Apotheosis.loc("sockets");
 
     public static final String AFFIX_DATA = AffixHelper.AFFIX_DATA;
     public static final String GEMS = "gems";
     public static final String SOCKETS = "sockets";
 
+    private static final GemInstance[] NO_GEMS = new GemInstance[0];
+
     /**
      * Gets the list of gems socketed into the item.<br>
      * Does not validate that the gems are valid in the item.
      *
      * @param stack The stack being queried
-     * @return An immutable list of all gems socketed in this item. This list is cached.
+     * @return An immutable list of all gems socketed in this item. This list is cached, unless the socket count is dynamic.
      */
     public static List<ItemStack> getGems(ItemStack stack) {
+        if (hasDynamicSockets(stack)) return getGemsImpl(stack);
         return CachedObjectSource.getOrCreate(stack, GEMS_CACHED_OBJECT, SocketHelper::getGemsImpl, CachedObject.hashSubkey(AFFIX_DATA));
     }
 
@@ -85,7 +97,35 @@ public class SocketHelper {
      * @see GemInstance#isValid()
      */
     public static Stream<GemInstance> getGemInstances(ItemStack stack) {
-        return getGems(stack).stream().map(gemStack -> GemInstance.socketed(stack, gemStack)).filter(GemInstance::isValid);
+        return Arrays.stream(getValidGems(stack));
+    }
+
+    /**
+     * Gets the socketed gems that are valid for use in the item, with their category, rarity, and bonus pre-resolved.<br>
+     * Prefer this over {@link #getGemInstances(ItemStack)} in hot paths, as iterating the array does not allocate.
+     *
+     * @param stack The stack being queried.
+     * @return An array containing all valid gems in the item. This array may be cached, and must not be modified.
+     * @see GemInstance#isValid()
+     */
+    public static GemInstance[] getValidGems(ItemStack stack) {
+        if (hasDynamicSockets(stack)) return getValidGemsImpl(stack);
+        return CachedObjectSource.getOrCreate(stack, GEM_INSTANCES_CACHED_OBJECT, SocketHelper::getValidGemsImpl, CachedObject.hashSubkey(AFFIX_DATA));
+    }
+
+    /**
+     * Implementation for {@link #getValidGems(ItemStack)}
+     */
+    private static GemInstance[] getValidGemsImpl(ItemStack stack) {
+        List<ItemStack> gems = getGems(stack);
+        if (gems.isEmpty()) return NO_GEMS;
+        LootCategory cat = LootCategory.forItem(stack);
+        List<GemInstance> valid = new ArrayList<>(gems.size());
+        for (ItemStack gemStack : gems) {
+            GemInstance inst = GemInstance.socketed(cat, gemStack);
+            if (inst.isValid()) valid.add(inst);
+        }
+        return valid.isEmpty() ? NO_GEMS : valid.toArray(new GemInstance[valid.size()]);
     }
 
     /**
@@ -108,17 +148,61 @@ public class SocketHelper {
      * Gets the number of sockets on an item.<br>
      * By default, this equals the level of {@linkplain Affixes#SOCKET the Socket affix}, but it may be
      * modified by {@link GetItemSocketsEvent}.
+     * <p>
+     * The result is cached against the item's affix data, unless a listener {@linkplain GetItemSocketsEvent#markDynamic() marked it as dynamic}.
      *
      * @param stack The stack being queried.
      * @return The number of sockets on the stack.
      * @see SocketAffix
+     * @see #invalidateSocketCaches()
      */
     public static int getSockets(ItemStack stack) {
+        Integer cached = getCachedSockets(stack);
+        if (cached != null) return cached;
+        return postSocketsEvent(stack).getSockets();
+    }
+
+    /**
+     * Checks if a listener {@linkplain GetItemSocketsEvent#markDynamic() marked the socket count of the stack as dynamic}.<br>
+     * Values derived from the socket count of such stacks must not be cached.
+     */
+    public static boolean hasDynamicSockets(ItemStack stack) {
+        return getCachedSockets(stack) == null;
+    }
+
+    @Nullable
+    private static Integer getCachedSockets(ItemStack stack) {
+        return CachedObjectSource.getOrCreate(stack, SOCKETS_CACHED_OBJECT, SocketHelper::getSocketsImpl, CachedObject.hashSubkey(AFFIX_DATA));
+    }
+
+    /**
+     * Implementation for {@link #getSockets(ItemStack)}
+     *
+     * @return The socket count, or null if the result may not be cached.
+     */
+    private static Integer getSocketsImpl(ItemStack stack) {
+        GetItemSocketsEvent event = postSocketsEvent(stack);
+        return event.isDynamic() ? null : event.getSockets();
+    }
+
+    private static GetItemSocketsEvent postSocketsEvent(ItemStack stack) {
         AffixInstance socketAffix = AffixHelper.getAffixes(stack).get(Affixes.SOCKET.get());
         int sockets = socketAffix != null ? (int) socketAffix.level() : 0;
         var event = new GetItemSocketsEvent(stack, sockets);
         MinecraftForge.EVENT_BUS.post(event);
-        return event.getSockets();
+        return event;
+    }
+
+    /**
+     * Discards all cached socket counts, along with the cached gem lists which are sized by them.<br>
+     * Listeners of {@link GetItemSocketsEvent} should call this when the answer they gave for an unchanged item changes,
+     * unless they {@linkplain GetItemSocketsEvent#markDynamic() marked their result as dynamic}.
+     */
+    public static void invalidateSocketCaches() {
+        CachedObject.invalidateAll(SOCKETS_CACHED_OBJECT);
+        CachedObject.invalidateAll(GEMS_CACHED_OBJECT);
+        CachedObject.invalidateAll(GEM_INSTANCES_CACHED_OBJECT);
+        if (FMLEnvironment.dist.isClient()) TooltipCache.clear();
     }
 
     /**
@@ -170,51 +254,24 @@ public class SocketHelper {
         }
     }
 
-    public static void loadSocketAffix(AbstractArrow arrow, Map<Affix, AffixInstance> affixes) {
-        CompoundTag afxData = arrow.getPersistentData().getCompound(AFFIX_DATA);
-        int sockets = afxData != null ? afxData.getInt(SOCKETS) : 0;
-        if (sockets > 0) {
-            affixes.put(Affixes.SOCKET.get(), new AffixInstance(Affixes.SOCKET.get(), ItemStack.EMPTY, LootRarity.UNCOMMON, sockets));
-        }
-    }
-
     /**
-     * Gets the list of gems socketed into the item that shot the arrow.<br>
-     * Does not validate that the gems are valid.
+     * Gets a stream of socketed gems that are valid for use by the arrow.
      *
-     * @param arrow The arrow being queried
-     * @return A list of all the gems stored in the arrow.
+     * @param arrow The arrow being queried.
+     * @return A stream containing all valid gems in the arrow.
+     * @see GemInstance#isValid()
      */
-    private static List<ItemStack> getGems(AbstractArrow arrow) {
-        CompoundTag afxData = arrow.getPersistentData().getCompound(AFFIX_DATA);
-        int sockets = afxData != null ? afxData.getInt(SOCKETS) : 0;
-        if (sockets <= 0) return Collections.emptyList();
-        List<ItemStack> gems = NonNullList.withSize(sockets, ItemStack.EMPTY);
-        int i = 0;
-        if (afxData != null && afxData.contains(GEMS)) {
-            ListTag gemData = afxData.getList(GEMS, Tag.TAG_COMPOUND);
-            for (Tag tag : gemData) {
-                ItemStack gemStack = ItemStack.of((CompoundTag) tag);
-                gemStack.setCount(1);
-                if (GemInstance.unsocketed(gemStack).isValidUnsocketed()) {
-                    gems.set(i++, gemStack);
-                }
-                if (i >= sockets) break;
-            }
-        }
-        return gems;
+    public static Stream<GemInstance> getGemInstances(AbstractArrow arrow) {
+        return Arrays.stream(getValidGems(arrow));
     }
 
     /**
-     * Gets a stream of socketed gems that are valid for use by the arrow.
+     * Gets the socketed gems that are valid for use by the arrow, from the arrow's {@link ArrowAffixSnapshot}.
      *
      * @param arrow The arrow being queried.
-     * @return A stream containing all valid gems in the arrow.
-     * @see GemInstance#isValid()
+     * @return An array containing all valid gems in the arrow. This array is shared, and must not be modified.
      */
-    public static Stream<GemInstance> getGemInstances(AbstractArrow arrow) {
-        LootCategory cat = AffixHelper.getShooterCategory(arrow);
-        if (cat == null) return Stream.empty();
-        return getGems(arrow).stream().map(gemStack -> GemInstance.socketed(cat, gemStack)).filter(GemInstance::isValid);
+    public static GemInstance[] getValidGems(AbstractArrow arrow) {
+        return ArrowAffixSnapshot.get(arrow).gems();
     }
 }
@@ -1,10 +1,7 @@
 package shadows.apotheosis.adventure.affix.socket.gem;
 
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
-import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -45,8 +42,9 @@ import shadows.apotheosis.adventure.loot.LootRarity;
  * @param cat      The LootCategory of the item the Gem is socketed into.
  * @param gemStack The itemstack form of the sockted Gem.
  * @param rarity   The rarity of the Gem. Not the rarity of the item the Gem is socketed into.
+ * @param bonus    The resolved bonus for the category and rarity, or null if no such bonus exists.
  */
-public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRarity rarity) {
+public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRarity rarity, @Nullable GemBonus bonus) {
     /**
      * Creates a {@link GemInstance} for a socketed gem.
      *
@@ -67,11 +65,13 @@ public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRar
         Gem gem = GemItem.getGem(gemStack);
         LootRarity rarity = AffixHelper.getRarity(gemStack.getTag());
 
+        GemBonus bonus = null;
         if (gem != null && rarity != null) {
             rarity = gem.clamp(rarity);
+            bonus = gem.getBonus(category, rarity).orElse(null);
         }
 
-        return new GemInstance(gem, category, gemStack, rarity);
+        return new GemInstance(gem, category, gemStack, rarity, bonus);
     }
 
     /**
@@ -86,7 +86,7 @@ public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRar
             rarity = gem.clamp(rarity);
         }
 
-        return new GemInstance(gem, LootCategory.NONE, gemStack, rarity);
+        return new GemInstance(gem, LootCategory.NONE, gemStack, rarity, null);
     }
 
     /**
@@ -103,7 +103,7 @@ public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRar
      * Will always return false if using {@link #unsocketed(ItemStack)}
      */
     public boolean isValid() {
-        return this.isValidUnsocketed() && this.gem.getBonus(this.cat, this.rarity).isPresent();
+        return this.isValidUnsocketed() && this.bonus != null;
     }
 
     /**
@@ -119,7 +119,7 @@ public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRar
     public void addModifiers(EquipmentSlot slot, BiConsumer<Attribute, AttributeModifier> map) {
         for (EquipmentSlot itemSlot : this.cat.getSlots()) {
             if (itemSlot == slot) {
-                this.ifPresent(b -> b.addModifiers(this.gemStack, this.rarity, map));
+                if (this.bonus != null) this.bonus.addModifiers(this.gemStack, this.rarity, map);
             }
         }
     }
@@ -128,42 +128,42 @@ public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRar
      * @see GemBonus#getSocketBonusTooltip(ItemStack, LootRarity)
      */
     public Component getSocketBonusTooltip() {
-        return this.map(b -> b.getSocketBonusTooltip(this.gemStack, this.rarity)).orElse(Component.literal("Invalid Gem Category"));
+        return this.bonus == null ? Component.literal("Invalid Gem Category") : this.bonus.getSocketBonusTooltip(this.gemStack, this.rarity);
     }
 
     /**
      * @see GemBonus#getDamageProtection(ItemStack, LootRarity, DamageSource)
      */
     public int getDamageProtection(DamageSource source) {
-        return this.map(b -> b.getDamageProtection(this.gemStack, this.rarity, source)).orElse(0);
+        return this.bonus == null ? 0 : this.bonus.getDamageProtection(this.gemStack, this.rarity, source);
     }
 
     /**
      * @see GemBonus#getDamageBonus(ItemStack, LootRarity, MobType)
      */
     public float getDamageBonus(MobType creatureType) {
-        return this.map(b -> b.getDamageBonus(this.gemStack, this.rarity, creatureType)).orElse(0F);
+        return this.bonus == null ? 0F : this.bonus.getDamageBonus(this.gemStack, this.rarity, creatureType);
     }
 
     /**
      * @see GemBonus#doPostAttack(ItemStack, LootRarity, LivingEntity, Entity)
      */
     public void doPostAttack(LivingEntity user, @Nullable Entity target) {
-        this.ifPresent(b -> b.doPostAttack(this.gemStack, this.rarity, user, target));
+        if (this.bonus != null) this.bonus.doPostAttack(this.gemStack, this.rarity, user, target);
     }
 
     /**
      * @see GemBonus#doPostHurt(ItemStack, LootRarity, LivingEntity, Entity)
      */
     public void doPostHurt(LivingEntity user, @Nullable Entity attacker) {
-        this.ifPresent(b -> b.doPostHurt(this.gemStack, this.rarity, user, attacker));
+        if (this.bonus != null) this.bonus.doPostHurt(this.gemStack, this.rarity, user, attacker);
     }
 
     /**
      * @see GemBonus#onArrowFired(ItemStack, LootRarity, LivingEntity, AbstractArrow)
      */
     public void onArrowFired(LivingEntity user, AbstractArrow arrow) {
-        this.ifPresent(b -> b.onArrowFired(this.gemStack, this.rarity, user, arrow));
+        if (this.bonus != null) this.bonus.onArrowFired(this.gemStack, this.rarity, user, arrow);
     }
 
     /**
@@ -171,73 +171,55 @@ public record GemInstance(Gem gem, LootCategory cat, ItemStack gemStack, LootRar
      */
     @Nullable
     public InteractionResult onItemUse(UseOnContext ctx) {
-        return this.map(b -> b.onItemUse(this.gemStack, this.rarity, ctx)).orElse(null);
+        return this.bonus == null ? null : this.bonus.onItemUse(this.gemStack, this.rarity, ctx);
     }
 
     /**
      * @see {@link GemBonus#onArrowImpact(AbstractArrow, LootRarity, HitResult, HitResult.Type)}
      */
     public void onArrowImpact(AbstractArrow arrow, ItemStack gem, LootRarity rarity, HitResult res, HitResult.Type type) {
-        this.ifPresent(b -> b.onArrowImpact(this.gemStack, this.rarity, arrow, res, type));
+        if (this.bonus != null) this.bonus.onArrowImpact(this.gemStack, this.rarity, arrow, res, type);
     }
 
     /**
      * @see GemBonus#onShieldBlock(ItemStack, LootRarity, LivingEntity, DamageSource, float)
      */
     public float onShieldBlock(LivingEntity entity, DamageSource source, float amount) {
-        return this.map(b -> b.onShieldBlock(this.gemStack, this.rarity, entity, source, amount)).orElse(amount);
+        return this.bonus == null ? amount : this.bonus.onShieldBlock(this.gemStack, this.rarity, entity, source, amount);
     }
 
     /**
      * @see GemBonus#onBlockBreak(ItemStack, LootRarity, Player, LevelAccessor, BlockPos, BlockState)
      */
     public void onBlockBreak(Player player, LevelAccessor world, BlockPos pos, BlockState state) {
-        this.ifPresent(b -> b.onBlockBreak(this.gemStack, this.rarity, player, world, pos, state));
+        if (this.bonus != null) this.bonus.onBlockBreak(this.gemStack, this.rarity, player, world, pos, state);
     }
 
     /**
      * @see GemBonus#getDurabilityBonusPercentage(ItemStack, LootRarity, ServerPlayer)
      */
     public float getDurabilityBonusPercentage(ServerPlayer user) {
-        return this.map(b -> b.getDurabilityBonusPercentage(this.gemStack, this.rarity, user)).orElse(0F);
+        return this.bonus == null ? 0F : this.bonus.getDurabilityBonusPercentage(this.gemStack, this.rarity, user);
     }
 
     /**
      * @see GemBonus#onHurt(ItemStack, LootRarity, DamageSource, LivingEntity, float)
      */
     public float onHurt(DamageSource src, LivingEntity ent, float amount) {
-        return this.map(b -> b.onHurt(this.gemStack, this.rarity, src, ent, amount)).orElse(amount);
+        return this.bonus == null ? amount : this.bonus.onHurt(this.gemStack, this.rarity, src, ent, amount);
     }
 
     /**
      * @see GemBonus#getEnchantmentLevels(ItemStack, LootRarity, Map)
      */
     public void getEnchantmentLevels(Map<Enchantment, Integer> enchantments) {
-        this.ifPresent(b -> b.getEnchantmentLevels(this.gemStack, this.rarity, enchantments));
+        if (this.bonus != null) this.bonus.getEnchantmentLevels(this.gemStack, this.rarity, enchantments);
     }
 
     /**
      * @see GemBonus#modifyLoot(ItemStack, LootRarity, ObjectArrayList, LootContext)
      */
     public void modifyLoot(ObjectArrayList<ItemStack> loot, LootContext ctx) {
-        this.ifPresent(b -> b.modifyLoot(this.gemStack, this.rarity, loot, ctx));
-    }
-
-    /**
-     * Resolves a gem bonus using {@link Optional#map(Function)}.
-     *
-     * @throws UnsupportedOperationException if this instance is not {@link #isValid()}.
-     */
-    private <T> Optional<T> map(Function<GemBonus, T> function) {
-        return this.gem.getBonus(this.cat, this.rarity).map(function);
-    }
-
-    /**
-     * Resolves a gem bonus using {@link Optional#ifPresent(Consumer)}.
-     *
-     * @throws UnsupportedOperationException if this instance is not {@link #isValid()}.
-     */
-    private void ifPresent(Consumer<GemBonus> function) {
-        this.gem.getBonus(this.cat, this.rarity).ifPresent(function);
+        if (this.bonus != null) this.bonus.modifyLoot(this.gemStack, this.rarity, loot, ctx);
     }
 }
@@ -1,27 +1,75 @@
 package shadows.apotheosis.adventure.affix.socket.gem;
 
+import java.util.Set;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
+
 import com.google.common.base.Preconditions;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.common.crafting.conditions.ICondition;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import shadows.apotheosis.Apoth.Items;
 import shadows.apotheosis.adventure.AdventureConfig;
 import shadows.apotheosis.adventure.AdventureModule;
 import shadows.apotheosis.adventure.affix.socket.gem.bonus.GemBonus;
+import shadows.apotheosis.adventure.compat.GameStagesCompat;
 import shadows.apotheosis.adventure.loot.LootRarity;
+import shadows.apotheosis.adventure.loot.WeightedSamplerCache;
+import shadows.apotheosis.core.attributeslib.client.TooltipCache;
 import shadows.placebo.json.WeightedJsonReloadListener;
 
 public class GemManager extends WeightedJsonReloadListener<Gem> {
 
     public static final GemManager INSTANCE = new GemManager();
 
+    private final WeightedSamplerCache<Gem> samplers = new WeightedSamplerCache<>(this::getValues);
+
     public GemManager() {
         super(AdventureModule.LOGGER, "gems", true, false);
     }
 
+    @Override
+    protected void beginReload() {
+        super.beginReload();
+        this.samplers.invalidate();
+        if (FMLEnvironment.dist.isClient()) TooltipCache.clear();
+    }
+
+    @Override
+    protected void onReload() {
+        super.onReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    public Gem getRandomItem(RandomSource rand, float luck) {
+        return this.samplers.sample(rand, luck, null, null, null);
+    }
+
+    /**
+     * Selects a random item that is valid for the given level and player, using a cached sampler.<br>
+     * Equivalent to {@code getRandomItem(rand, luck, IDimensional.matches(level), IStaged.matches(player))}.
+     */
+    @Nullable
+    public Gem getRandomItem(RandomSource rand, float luck, Level level, @Nullable Player player) {
+        return this.getRandomItem(rand, luck, level, player == null ? null : GameStagesCompat.getStages(player));
+    }
+
+    /**
+     * Selects a random item that is valid for the given level and game stages, using a cached sampler.
+     *
+     * @param stages The player's stages, from {@link GameStagesCompat#getStages(Player)}.
+     */
+    @Nullable
+    public Gem getRandomItem(RandomSource rand, float luck, Level level, @Nullable Set<String> stages) {
+        return this.samplers.sample(rand, luck, level, stages, null);
+    }
+
     @Override
     protected void registerBuiltinSerializers() {
         this.registerSerializer(DEFAULT, Gem.SERIALIZER);
@@ -39,6 +87,25 @@ public class GemManager extends WeightedJsonReloadListener<Gem> {
     @SafeVarargs
     public static ItemStack createRandomGemStack(RandomSource rand, ServerLevel level, float luck, Predicate<Gem>... filter) {
         Gem gem = GemManager.INSTANCE.getRandomItem(rand, luck, filter);
+        return rollGemStack(rand, level, luck, gem);
+    }
+
+    /**
+     * Pulls a random LootRarity and Gem valid for the level and player, and generates an Gem Item.<br>
+     * This uses the cached sampler, see {@link #getRandomItem(RandomSource, float, Level, Player)}.
+     *
+     * @param rand   Random
+     * @param level  The level, since gems are per-dimension.
+     * @param luck   The player's luck level
+     * @param player The player, or null to ignore game stages.
+     * @return A gem item, or an empty ItemStack if no entries were available for the dimension.
+     */
+    public static ItemStack createRandomGemStack(RandomSource rand, ServerLevel level, float luck, @Nullable Player player) {
+        Gem gem = GemManager.INSTANCE.getRandomItem(rand, luck, level, player);
+        return rollGemStack(rand, level, luck, gem);
+    }
+
+    private static ItemStack rollGemStack(RandomSource rand, ServerLevel level, float luck, @Nullable Gem gem) {
         if (gem == null) return ItemStack.EMPTY;
         LootRarity.Clamped clamp = AdventureConfig.GEM_DIM_RARITIES.get(level.dimension().location());
         LootRarity rarity = gem.clamp(LootRarity.random(rand, luck, clamp));
@@ -12,6 +12,8 @@ import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import com.mojang.serialization.codecs.SimpleMapCodec;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
@@ -38,6 +40,7 @@ import net.minecraftforge.common.loot.LootModifier;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import shadows.apotheosis.Apotheosis;
 import shadows.apotheosis.adventure.affix.Affix;
+import shadows.apotheosis.adventure.affix.AffixCooldowns;
 import shadows.apotheosis.adventure.affix.socket.gem.GemClass;
 import shadows.apotheosis.adventure.affix.socket.gem.GemItem;
 import shadows.apotheosis.adventure.affix.socket.gem.bonus.special.AllStatsBonus;
@@ -59,10 +62,12 @@ public abstract class GemBonus implements CodecProvider<GemBonus> {
 
     protected final ResourceLocation id;
     protected final GemClass gemClass;
+    private final Object2IntMap<ResourceLocation> cooldownIndices = new Object2IntOpenHashMap<>();
 
     public GemBonus(ResourceLocation id, GemClass gemClass) {
         this.id = id;
         this.gemClass = gemClass;
+        this.cooldownIndices.defaultReturnValue(-1);
     }
 
     /**
@@ -264,6 +269,22 @@ public abstract class GemBonus implements CodecProvider<GemBonus> {
         return new ResourceLocation(gemId.getNamespace(), gemId.getPath() + "/" + this.getId().toLanguageKey());
     }
 
+    /**
+     * Retrieves the interned index of {@link #getCooldownId(ItemStack)}, for use with {@link Affix#isOnCooldown} / {@link Affix#startCooldown}.<br>
+     * The index is cached per gem, so the cooldown id is only built once.
+     */
+    public final int getCooldownIndex(ItemStack gemStack) {
+        ResourceLocation gemId = GemItem.getGem(gemStack).getId();
+        synchronized (this.cooldownIndices) {
+            int index = this.cooldownIndices.getInt(gemId);
+            if (index == -1) {
+                index = AffixCooldowns.getIndex(this.getCooldownId(gemStack));
+                this.cooldownIndices.put(gemId, index);
+            }
+            return index;
+        }
+    }
+
     protected static <T extends GemBonus> App<RecordCodecBuilder.Mu<T>, GemClass> gemClass() {
         return GemClass.CODEC.fieldOf("gem_class").forGetter(GemBonus::getGemClass);
     }
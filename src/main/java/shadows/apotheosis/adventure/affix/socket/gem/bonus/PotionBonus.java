@@ -145,7 +145,7 @@ public class PotionBonus extends GemBonus {
 
     private void applyEffect(ItemStack gemStack, LivingEntity target, LootRarity rarity) {
         int cooldown = this.getCooldown(rarity);
-        if (cooldown != 0 && Affix.isOnCooldown(this.getCooldownId(gemStack), cooldown, target)) return;
+        if (cooldown != 0 && Affix.isOnCooldown(this.getCooldownIndex(gemStack), target)) return;
         EffectData data = this.values.get(rarity);
         var inst = target.getEffect(this.effect);
         if (this.stackOnReapply && inst != null) {
@@ -157,7 +157,7 @@ public class PotionBonus extends GemBonus {
         else {
             target.addEffect(data.build(this.effect));
         }
-        Affix.startCooldown(this.getCooldownId(gemStack), target);
+        Affix.startCooldown(this.getCooldownIndex(gemStack), cooldown, target);
     }
 
     public static Component toComponent(MobEffectInstance inst) {
@@ -37,10 +37,10 @@ public class BloodyArrowBonus extends GemBonus {
     @Override
     public void onArrowFired(ItemStack gem, LootRarity rarity, LivingEntity user, AbstractArrow arrow) {
         Data d = this.values.get(rarity);
-        if (Affix.isOnCooldown(this.getCooldownId(gem), d.cooldown, user)) return;
+        if (Affix.isOnCooldown(this.getCooldownIndex(gem), user)) return;
         user.hurt(Apotheosis.CORRUPTED, user.getMaxHealth() * d.healthCost);
         arrow.setBaseDamage(arrow.getBaseDamage() * d.dmgMultiplier);
-        Affix.startCooldown(this.getCooldownId(gem), user);
+        Affix.startCooldown(this.getCooldownIndex(gem), d.cooldown, user);
     }
 
     @Override
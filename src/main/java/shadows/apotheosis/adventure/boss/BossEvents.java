@@ -44,11 +44,10 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import shadows.apotheosis.Apotheosis;
 import shadows.apotheosis.adventure.AdventureConfig;
 import shadows.apotheosis.adventure.AdventureModule;
-import shadows.apotheosis.adventure.boss.MinibossManager.IEntityMatch;
+import shadows.apotheosis.adventure.NearestPlayerIndex;
+import shadows.apotheosis.adventure.NearestPlayerIndex.NearbyPlayer;
 import shadows.apotheosis.adventure.client.BossSpawnMessage;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
 import shadows.placebo.codec.EnumCodec;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 import shadows.placebo.network.PacketDistro;
 
 public class BossEvents {
@@ -66,14 +65,15 @@ public class BossEvents {
                 Pair<Float, BossSpawnRules> rules = AdventureConfig.BOSS_SPAWN_RULES.get(dimId);
                 if (rules == null) return;
                 if (rand.nextFloat() <= rules.getLeft() && rules.getRight().test(sLevel, new BlockPos(e.getX(), e.getY(), e.getZ()))) {
-                    Player player = sLevel.getNearestPlayer(e.getX(), e.getY(), e.getZ(), -1, false);
-                    if (player == null) return; // Spawns require player context
-                    BossItem item = BossItemManager.INSTANCE.getRandomItem(rand, player.getLuck(), IDimensional.matches(sLevel.getLevel()), IStaged.matches(player));
+                    NearbyPlayer nearest = NearestPlayerIndex.getNearest(sLevel, e.getX(), e.getY(), e.getZ());
+                    if (nearest == null) return; // Spawns require player context
+                    Player player = nearest.player();
+                    BossItem item = BossItemManager.INSTANCE.getRandomItem(rand, nearest.luck(), sLevel.getLevel(), nearest.stages());
                     if (item == null) {
                         AdventureModule.LOGGER.error("Attempted to spawn a boss in dimension {} using configured boss spawn rule {}/{} but no bosses were made available.", dimId, rules.getRight(), rules.getLeft());
                         return;
                     }
-                    Mob boss = item.createBoss(sLevel, new BlockPos(e.getX() - 0.5, e.getY(), e.getZ() - 0.5), rand, player.getLuck());
+                    Mob boss = item.createBoss(sLevel, new BlockPos(e.getX() - 0.5, e.getY(), e.getZ() - 0.5), rand, nearest.luck());
                     if (AdventureConfig.bossAutoAggro && !player.isCreative()) {
                         boss.setTarget(player);
                     }
@@ -111,12 +111,12 @@ public class BossEvents {
         RandomSource rand = e.getLevel().getRandom();
         if (!e.getLevel().isClientSide() && entity instanceof Mob mob && e.getResult() != Result.DENY) {
             ServerLevelAccessor sLevel = (ServerLevelAccessor) e.getLevel();
-            Player player = sLevel.getNearestPlayer(e.getX(), e.getY(), e.getZ(), -1, false);
-            if (player == null) return; // Spawns require player context
-            MinibossItem item = MinibossManager.INSTANCE.getRandomItem(rand, player.getLuck(), IDimensional.matches(sLevel.getLevel()), IStaged.matches(player), IEntityMatch.matches(entity));
+            NearbyPlayer nearest = NearestPlayerIndex.getNearest(sLevel, e.getX(), e.getY(), e.getZ());
+            if (nearest == null) return; // Spawns require player context
+            MinibossItem item = MinibossManager.INSTANCE.getRandomItem(rand, nearest.luck(), sLevel.getLevel(), nearest.stages(), entity);
             if (item != null && !item.isExcluded(mob, sLevel, e.getSpawnReason()) && sLevel.getRandom().nextFloat() <= item.getChance()) {
                 mob.getPersistentData().putString("apoth.miniboss", item.getId().toString());
-                mob.getPersistentData().putFloat("apoth.miniboss.luck", player.getLuck());
+                mob.getPersistentData().putFloat("apoth.miniboss.luck", nearest.luck());
                 if (!item.shouldFinalize()) e.setCanceled(true);
             }
         }
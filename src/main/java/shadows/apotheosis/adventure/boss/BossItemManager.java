@@ -1,23 +1,69 @@
 package shadows.apotheosis.adventure.boss;
 
 import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
 
 import com.google.gson.JsonElement;
 
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.RandomSource;
 import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 import shadows.apotheosis.adventure.AdventureModule;
+import shadows.apotheosis.adventure.compat.GameStagesCompat;
+import shadows.apotheosis.adventure.loot.WeightedSamplerCache;
 import shadows.placebo.json.WeightedJsonReloadListener;
 
 public class BossItemManager extends WeightedJsonReloadListener<BossItem> {
 
     public static final BossItemManager INSTANCE = new BossItemManager();
 
+    private final WeightedSamplerCache<BossItem> samplers = new WeightedSamplerCache<>(this::getValues);
+
     public BossItemManager() {
         super(AdventureModule.LOGGER, "bosses", false, false);
     }
 
+    @Override
+    protected void beginReload() {
+        super.beginReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    protected void onReload() {
+        super.onReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    public BossItem getRandomItem(RandomSource rand, float luck) {
+        return this.samplers.sample(rand, luck, null, null, null);
+    }
+
+    /**
+     * Selects a random item that is valid for the given level and player, using a cached sampler.<br>
+     * Equivalent to {@code getRandomItem(rand, luck, IDimensional.matches(level), IStaged.matches(player))}.
+     */
+    @Nullable
+    public BossItem getRandomItem(RandomSource rand, float luck, Level level, Player player) {
+        return this.getRandomItem(rand, luck, level, GameStagesCompat.getStages(player));
+    }
+
+    /**
+     * Selects a random item that is valid for the given level and game stages, using a cached sampler.
+     *
+     * @param stages The player's stages, from {@link GameStagesCompat#getStages(Player)}.
+     */
+    @Nullable
+    public BossItem getRandomItem(RandomSource rand, float luck, Level level, @Nullable Set<String> stages) {
+        return this.samplers.sample(rand, luck, level, stages, null);
+    }
+
     @Override
     protected Map<ResourceLocation, JsonElement> prepare(ResourceManager pResourceManager, ProfilerFiller pProfiler) {
         var map = super.prepare(pResourceManager, pProfiler);
@@ -21,10 +21,8 @@ import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraft.world.phys.shapes.VoxelShape;
 import shadows.apotheosis.Apoth;
 import shadows.apotheosis.adventure.AdventureModule;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
 import shadows.placebo.block_entity.TickingBlockEntity;
 import shadows.placebo.block_entity.TickingEntityBlock;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class BossSpawnerBlock extends Block implements TickingEntityBlock {
 
@@ -60,7 +58,7 @@ public class BossSpawnerBlock extends Block implements TickingEntityBlock {
                 opt.ifPresent(player -> {
                     this.level.setBlockAndUpdate(this.worldPosition, Blocks.AIR.defaultBlockState());
                     BlockPos pos = this.worldPosition;
-                    BossItem bossItem = this.item == null ? BossItemManager.INSTANCE.getRandomItem(this.level.getRandom(), player.getLuck(), IDimensional.matches(this.level), IStaged.matches(player)) : this.item;
+                    BossItem bossItem = this.item == null ? BossItemManager.INSTANCE.getRandomItem(this.level.getRandom(), player.getLuck(), this.level, player) : this.item;
                     if (bossItem == null) {
                         AdventureModule.LOGGER.error("A boss spawner attempted to spawn a boss at {} in {}, but no bosses were available!", this.getBlockPos(), this.level.dimension().location());
                         return;
@@ -8,8 +8,6 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.context.UseOnContext;
 import net.minecraft.world.level.Level;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class BossSummonerItem extends Item {
 
@@ -22,7 +20,7 @@ public class BossSummonerItem extends Item {
         Level world = ctx.getLevel();
         if (world.isClientSide) return InteractionResult.SUCCESS;
         Player player = ctx.getPlayer();
-        BossItem item = BossItemManager.INSTANCE.getRandomItem(world.getRandom(), ctx.getPlayer().getLuck(), IDimensional.matches(world), IStaged.matches(player));
+        BossItem item = BossItemManager.INSTANCE.getRandomItem(world.getRandom(), ctx.getPlayer().getLuck(), world, player);
         if (item == null) return InteractionResult.FAIL;
         BlockPos pos = ctx.getClickedPos().relative(ctx.getClickedFace());
         if (!world.noCollision(item.getSize().move(pos))) {
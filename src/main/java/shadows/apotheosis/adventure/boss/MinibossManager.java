@@ -5,19 +5,62 @@ import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 import shadows.apotheosis.adventure.AdventureModule;
+import shadows.apotheosis.adventure.compat.GameStagesCompat;
+import shadows.apotheosis.adventure.loot.WeightedSamplerCache;
 import shadows.placebo.json.WeightedJsonReloadListener;
 
 public class MinibossManager extends WeightedJsonReloadListener<MinibossItem> {
 
     public static final MinibossManager INSTANCE = new MinibossManager();
 
+    private final WeightedSamplerCache<MinibossItem> samplers = new WeightedSamplerCache<>(this::getValues);
+
     public MinibossManager() {
         super(AdventureModule.LOGGER, "minibosses", false, false);
     }
 
+    @Override
+    protected void beginReload() {
+        super.beginReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    protected void onReload() {
+        super.onReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    public MinibossItem getRandomItem(RandomSource rand, float luck) {
+        return this.samplers.sample(rand, luck, null, null, null);
+    }
+
+    /**
+     * Selects a random item that is valid for the given level, player, and entity, using a cached sampler.<br>
+     * Equivalent to {@code getRandomItem(rand, luck, IDimensional.matches(level), IStaged.matches(player), IEntityMatch.matches(entity))}.
+     */
+    @Nullable
+    public MinibossItem getRandomItem(RandomSource rand, float luck, Level level, Player player, Entity entity) {
+        return this.getRandomItem(rand, luck, level, GameStagesCompat.getStages(player), entity);
+    }
+
+    /**
+     * Selects a random item that is valid for the given level, game stages, and entity, using a cached sampler.
+     *
+     * @param stages The player's stages, from {@link GameStagesCompat#getStages(Player)}.
+     */
+    @Nullable
+    public MinibossItem getRandomItem(RandomSource rand, float luck, Level level, @Nullable Set<String> stages, Entity entity) {
+        return this.samplers.sample(rand, luck, level, stages, entity.getType());
+    }
+
     @Override
     protected void validateItem(MinibossItem item) {
         super.validateItem(item);
@@ -76,8 +76,10 @@ import shadows.apotheosis.adventure.affix.socket.gem.GemItem;
 import shadows.apotheosis.adventure.affix.socket.gem.cutting.GemCuttingScreen;
 import shadows.apotheosis.adventure.client.BossSpawnMessage.BossSpawnData;
 import shadows.apotheosis.adventure.client.SocketTooltipRenderer.SocketComponent;
+import shadows.apotheosis.core.attributeslib.AttributesLib;
 import shadows.apotheosis.core.attributeslib.api.AddAttributeTooltipsEvent;
 import shadows.apotheosis.core.attributeslib.api.GatherSkippedAttributeTooltipsEvent;
+import shadows.apotheosis.core.attributeslib.client.TooltipCache;
 
 public class AdventureModuleClient {
 
@@ -211,23 +213,32 @@ public class AdventureModuleClient {
             }
         }
         if (rmvIdx == -1) return;
-        e.getTooltipElements().add(rmvIdx, Either.right(new SocketComponent(e.getItemStack(), SocketHelper.getGems(e.getItemStack()))));
+        ItemStack stack = e.getItemStack();
+        TooltipComponent comp;
+        if (SocketHelper.hasDynamicSockets(stack)) comp = new SocketComponent(stack, SocketHelper.getGems(stack));
+        else comp = TooltipCache.get(stack, AttributesLib.getTooltipFlag()).getSocketComponent(stack, s -> new SocketComponent(s, SocketHelper.getGems(s)));
+        e.getTooltipElements().add(rmvIdx, Either.right(comp));
     }
 
     @SubscribeEvent(priority = EventPriority.HIGH)
     public static void affixTooltips(ItemTooltipEvent e) {
         ItemStack stack = e.getItemStack();
         if (stack.hasTag()) {
-            Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
-            List<Component> components = new ArrayList<>();
-            Consumer<Component> dotPrefixer = afxComp -> {
-                components.add(Component.translatable("text.apotheosis.dot_prefix", afxComp).withStyle(ChatFormatting.YELLOW));
-            };
-            affixes.values().stream().sorted(Comparator.comparingInt(a -> a.affix().getType().ordinal())).forEach(inst -> inst.addInformation(dotPrefixer));
+            List<Component> components = TooltipCache.get(stack, e.getFlags()).getAffixLines(stack, AdventureModuleClient::getAffixLines);
             e.getToolTip().addAll(1, components);
         }
     }
 
+    private static List<Component> getAffixLines(ItemStack stack) {
+        Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
+        List<Component> components = new ArrayList<>();
+        Consumer<Component> dotPrefixer = afxComp -> {
+            components.add(Component.translatable("text.apotheosis.dot_prefix", afxComp).withStyle(ChatFormatting.YELLOW));
+        };
+        affixes.values().stream().sorted(Comparator.comparingInt(a -> a.affix().getType().ordinal())).forEach(inst -> inst.addInformation(dotPrefixer));
+        return components;
+    }
+
     // Accessor functon, ensures that you don't use the raw methods below unintentionally.
     public static RenderType gray(ResourceLocation texture) {
         return CustomRenderTypes.GRAY.apply(texture);
@@ -23,9 +23,7 @@ import net.minecraft.world.level.ServerLevelAccessor;
 import net.minecraft.world.phys.Vec3;
 import shadows.apotheosis.adventure.boss.BossItem;
 import shadows.apotheosis.adventure.boss.BossItemManager;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
 import shadows.apotheosis.adventure.loot.LootRarity;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class BossCommand {
 
@@ -62,7 +60,7 @@ public class BossCommand {
             return -1;
         }
 
-        BossItem boss = bossId == null ? BossItemManager.INSTANCE.getRandomItem(summoner.random, summoner.getLuck(), IDimensional.matches(summoner.level), IStaged.matches(summoner)) : BossItemManager.INSTANCE.getValue(bossId);
+        BossItem boss = bossId == null ? BossItemManager.INSTANCE.getRandomItem(summoner.random, summoner.getLuck(), summoner.level, summoner) : BossItemManager.INSTANCE.getValue(bossId);
         if (boss == null) {
             if (bossId == null) {
                 c.getSource().sendFailure(Component.literal("Unknown boss: " + bossId));
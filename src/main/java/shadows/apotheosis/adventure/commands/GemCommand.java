@@ -16,9 +16,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.registries.ForgeRegistries;
 import shadows.apotheosis.adventure.affix.socket.gem.Gem;
 import shadows.apotheosis.adventure.affix.socket.gem.GemManager;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
 import shadows.apotheosis.adventure.loot.LootRarity;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class GemCommand {
 
@@ -36,7 +34,7 @@ public class GemCommand {
             return 0;
         }))).then(Commands.literal("random").executes(c -> {
             Player p = c.getSource().getPlayerOrException();
-            ItemStack gem = GemManager.createRandomGemStack(p.random, c.getSource().getLevel(), p.getLuck(), IDimensional.matches(p.level), IStaged.matches(p));
+            ItemStack gem = GemManager.createRandomGemStack(p.random, c.getSource().getLevel(), p.getLuck(), p);
             p.addItem(gem);
             return 0;
         })));
@@ -6,6 +6,7 @@ import java.util.function.Predicate;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
 import shadows.apotheosis.Apoth;
+import shadows.apotheosis.adventure.affix.AffixHelper;
 import top.theillusivec4.curios.api.CuriosApi;
 import top.theillusivec4.curios.api.SlotResult;
 
@@ -18,4 +19,9 @@ public class AdventureCuriosCompat {
         return slots.stream().map(SlotResult::stack).toList();
     }
 
+    public static List<ItemStack> getAffixedCurios(LivingEntity entity) {
+        List<SlotResult> slots = CuriosApi.getCuriosHelper().findCurios(entity, AffixHelper::hasAffixes);
+        return slots.stream().map(SlotResult::stack).toList();
+    }
+
 }
@@ -1,11 +1,15 @@
 package shadows.apotheosis.adventure.compat;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.darkhax.gamestages.GameStageHelper;
+import net.darkhax.gamestages.data.IStageData;
 import net.minecraft.world.entity.player.Player;
 import shadows.apotheosis.adventure.AdventureModule;
 
@@ -22,6 +26,28 @@ public class GameStagesCompat {
         return !AdventureModule.STAGES_LOADED || stages == null || Inner.hasStage(player, stages);
     }
 
+    /**
+     * Retrieves an immutable copy of the stages the player currently has, for use as a cache key.
+     *
+     * @param player The player in question.
+     * @return The player's stages, or null if game stages is not loaded (in which case all stages are available).
+     */
+    @Nullable
+    public static Set<String> getStages(Player player) {
+        return AdventureModule.STAGES_LOADED ? Inner.getStages(player) : null;
+    }
+
+    /**
+     * Equivalent to {@link #hasStage(Player, Set)}, but operates on a set of stages retrieved from {@link #getStages(Player)}.
+     *
+     * @param playerStages The player's stages. Null means "all stages".
+     * @param stages       The stages of the item being checked. Null means "all stages", empty means "never available".
+     * @return If the player has any of the passed stages.
+     */
+    public static boolean hasStage(@Nullable Set<String> playerStages, Set<String> stages) {
+        return playerStages == null || stages == null || !Collections.disjoint(playerStages, stages);
+    }
+
     /**
      * An item that is restricted by a particular game stage (or other string).
      */
@@ -47,6 +73,11 @@ public class GameStagesCompat {
             return GameStageHelper.hasAnyOf(player, stages);
         }
 
+        private static Set<String> getStages(Player player) {
+            IStageData data = GameStageHelper.getPlayerData(player);
+            return data == null ? ImmutableSet.of() : ImmutableSet.copyOf(data.getStages());
+        }
+
     }
 
 }
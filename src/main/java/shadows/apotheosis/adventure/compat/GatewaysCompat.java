@@ -21,7 +21,6 @@ import net.minecraft.world.phys.AABB;
 import shadows.apotheosis.Apotheosis;
 import shadows.apotheosis.adventure.boss.BossItem;
 import shadows.apotheosis.adventure.boss.BossItemManager;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
 import shadows.apotheosis.adventure.loot.AffixLootEntry;
 import shadows.apotheosis.adventure.loot.AffixLootManager;
 import shadows.apotheosis.adventure.loot.LootController;
@@ -29,7 +28,6 @@ import shadows.apotheosis.adventure.loot.LootRarity;
 import shadows.gateways.entity.GatewayEntity;
 import shadows.gateways.gate.Reward;
 import shadows.gateways.gate.WaveEntity;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class GatewaysCompat {
 
@@ -102,7 +100,7 @@ public class GatewaysCompat {
 
         @Override
         public void generateLoot(ServerLevel level, GatewayEntity gate, Player summoner, Consumer<ItemStack> list) {
-            AffixLootEntry item = AffixLootManager.INSTANCE.getRandomItem(level.random, summoner.getLuck(), IDimensional.matches(level), IStaged.matches(summoner));
+            AffixLootEntry item = AffixLootManager.INSTANCE.getRandomItem(level.random, summoner.getLuck(), level, summoner);
 
             if (item == null) {
                 item = AffixLootManager.INSTANCE.getRandomItem(level.random, summoner.getLuck());
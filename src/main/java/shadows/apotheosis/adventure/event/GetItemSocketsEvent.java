@@ -9,10 +9,14 @@ import shadows.apotheosis.adventure.affix.socket.SocketHelper;
  * Fired from {@link SocketHelper#getSockets(ItemStack)} to allow modification of the number of sockets an item has.
  * <p>
  * This event is fired on the {@link MinecraftForge#EVENT_BUS}.
+ * <p>
+ * The result is cached per stack, and is only recomputed when the stack's affix data changes.
+ * Listeners whose answer depends on anything else must call {@link #markDynamic()}, or call {@link SocketHelper#invalidateSocketCaches()} when their answer changes.
  */
 public class GetItemSocketsEvent extends Event {
     protected final ItemStack stack;
     protected int sockets;
+    protected boolean dynamic = false;
 
     public GetItemSocketsEvent(ItemStack stack, int sockets) {
         this.stack = stack;
@@ -41,4 +45,19 @@ public class GetItemSocketsEvent extends Event {
     public void setSockets(int sockets) {
         this.sockets = sockets;
     }
+
+    /**
+     * Marks the result of this event as depending on context other than the item and its affix data, which prevents it from being cached.<br>
+     * This must be called whenever such context is consulted, even if the socket count is left unchanged.
+     */
+    public void markDynamic() {
+        this.dynamic = true;
+    }
+
+    /**
+     * @return If any listener has marked the result of this event as uncacheable.
+     */
+    public boolean isDynamic() {
+        return this.dynamic;
+    }
 }
@@ -1,8 +1,16 @@
 package shadows.apotheosis.adventure.loot;
 
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
 import com.google.common.base.Preconditions;
 
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 import shadows.apotheosis.adventure.AdventureModule;
+import shadows.apotheosis.adventure.compat.GameStagesCompat;
 import shadows.placebo.json.WeightedJsonReloadListener;
 
 /**
@@ -12,10 +20,48 @@ public class AffixLootManager extends WeightedJsonReloadListener<AffixLootEntry>
 
     public static final AffixLootManager INSTANCE = new AffixLootManager();
 
+    private final WeightedSamplerCache<AffixLootEntry> samplers = new WeightedSamplerCache<>(this::getValues);
+
     private AffixLootManager() {
         super(AdventureModule.LOGGER, "affix_loot_entries", false, false);
     }
 
+    @Override
+    protected void beginReload() {
+        super.beginReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    protected void onReload() {
+        super.onReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    public AffixLootEntry getRandomItem(RandomSource rand, float luck) {
+        return this.samplers.sample(rand, luck, null, null, null);
+    }
+
+    /**
+     * Selects a random item that is valid for the given level and player, using a cached sampler.<br>
+     * Equivalent to {@code getRandomItem(rand, luck, IDimensional.matches(level), IStaged.matches(player))}.
+     */
+    @Nullable
+    public AffixLootEntry getRandomItem(RandomSource rand, float luck, Level level, Player player) {
+        return this.getRandomItem(rand, luck, level, GameStagesCompat.getStages(player));
+    }
+
+    /**
+     * Selects a random item that is valid for the given level and game stages, using a cached sampler.
+     *
+     * @param stages The player's stages, from {@link GameStagesCompat#getStages(Player)}.
+     */
+    @Nullable
+    public AffixLootEntry getRandomItem(RandomSource rand, float luck, Level level, @Nullable Set<String> stages) {
+        return this.samplers.sample(rand, luck, level, stages, null);
+    }
+
     @Override
     protected void registerBuiltinSerializers() {
         this.registerSerializer(DEFAULT, AffixLootEntry.SERIALIZER);
@@ -13,8 +13,6 @@ import shadows.apotheosis.Apotheosis;
 import shadows.apotheosis.adventure.AdventureConfig;
 import shadows.apotheosis.adventure.AdventureConfig.LootPatternMatcher;
 import shadows.apotheosis.adventure.affix.socket.gem.GemManager;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class GemLootModifier extends LootModifier {
 
@@ -33,7 +31,7 @@ public class GemLootModifier extends LootModifier {
                     var player = GemLootPoolEntry.findPlayer(context);
                     if (player == null) return generatedLoot;
                     float luck = context.getLuck();
-                    ItemStack gem = GemManager.createRandomGemStack(context.getRandom(), context.getLevel(), luck, IDimensional.matches(context.getLevel()), IStaged.matches(player));
+                    ItemStack gem = GemManager.createRandomGemStack(context.getRandom(), context.getLevel(), luck, player);
                     generatedLoot.add(gem);
                 }
                 break;
@@ -30,9 +30,7 @@ import shadows.apotheosis.adventure.AdventureConfig;
 import shadows.apotheosis.adventure.AdventureModule;
 import shadows.apotheosis.adventure.affix.socket.gem.Gem;
 import shadows.apotheosis.adventure.affix.socket.gem.GemManager;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
 import shadows.placebo.json.ListenerCallback;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class GemLootPoolEntry extends LootPoolSingletonContainer {
     public static final Serializer SERIALIZER = new Serializer();
@@ -63,7 +61,7 @@ public class GemLootPoolEntry extends LootPoolSingletonContainer {
         else {
             var player = GemLootPoolEntry.findPlayer(ctx);
             if (player == null) return;
-            gem = GemManager.INSTANCE.getRandomItem(ctx.getRandom(), ctx.getLuck(), IDimensional.matches(ctx.getLevel()), IStaged.matches(player));
+            gem = GemManager.INSTANCE.getRandomItem(ctx.getRandom(), ctx.getLuck(), ctx.getLevel(), player);
         }
 
         LootRarity.Clamped clamp = AdventureConfig.GEM_DIM_RARITIES.get(ctx.getLevel().dimension().location());
@@ -1,11 +1,12 @@
 package shadows.apotheosis.adventure.loot;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -21,6 +22,7 @@ import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.BowItem;
 import net.minecraft.world.item.CrossbowItem;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.TridentItem;
@@ -33,15 +35,25 @@ import shadows.placebo.codec.PlaceboCodecs;
 public final class LootCategory {
 
     private static final Map<String, LootCategory> BY_ID_INTERNAL = new HashMap<>();
-    private static final List<LootCategory> VALUES_INTERNAL = new LinkedList<>();
+    private static final List<LootCategory> VALUES_INTERNAL = new ArrayList<>();
+
+    /**
+     * Per-item classification cache. Only holds results which cannot depend on the NBT of the stack.
+     */
+    private static final Map<Item, LootCategory> ITEM_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Array snapshot of {@link #VALUES}, used to avoid iterator allocation in {@link #forItem(ItemStack)}.
+     */
+    private static volatile LootCategory[] valuesArray = new LootCategory[0];
 
     public static final Map<String, LootCategory> BY_ID = Collections.unmodifiableMap(BY_ID_INTERNAL);
     public static final List<LootCategory> VALUES = Collections.unmodifiableList(VALUES_INTERNAL);
     public static final Codec<LootCategory> CODEC = ExtraCodecs.stringResolverCodec(LootCategory::getName, LootCategory::byId);
     public static final Codec<Set<LootCategory>> SET_CODEC = PlaceboCodecs.setOf(CODEC);
 
-    public static final LootCategory BOW = register("bow", s -> s.getItem() instanceof BowItem, arr(EquipmentSlot.MAINHAND, EquipmentSlot.OFFHAND));
-    public static final LootCategory CROSSBOW = register("crossbow", s -> s.getItem() instanceof CrossbowItem, arr(EquipmentSlot.MAINHAND, EquipmentSlot.OFFHAND));
+    public static final LootCategory BOW = register("bow", s -> s.getItem() instanceof BowItem, arr(EquipmentSlot.MAINHAND, EquipmentSlot.OFFHAND), false);
+    public static final LootCategory CROSSBOW = register("crossbow", s -> s.getItem() instanceof CrossbowItem, arr(EquipmentSlot.MAINHAND, EquipmentSlot.OFFHAND), false);
     public static final LootCategory PICKAXE = register("pickaxe", s -> s.canPerformAction(ToolActions.PICKAXE_DIG), arr(EquipmentSlot.MAINHAND));
     public static final LootCategory SHOVEL = register("shovel", s -> s.canPerformAction(ToolActions.SHOVEL_DIG), arr(EquipmentSlot.MAINHAND));
     public static final LootCategory HEAVY_WEAPON = register("heavy_weapon", new ShieldBreakerTest(), arr(EquipmentSlot.MAINHAND));
@@ -50,19 +62,21 @@ public final class LootCategory {
     public static final LootCategory LEGGINGS = register("leggings", armorSlot(EquipmentSlot.LEGS), arr(EquipmentSlot.LEGS));
     public static final LootCategory BOOTS = register("boots", armorSlot(EquipmentSlot.FEET), arr(EquipmentSlot.FEET));
     public static final LootCategory SHIELD = register("shield", s -> s.canPerformAction(ToolActions.SHIELD_BLOCK), arr(EquipmentSlot.MAINHAND, EquipmentSlot.OFFHAND));
-    public static final LootCategory TRIDENT = register("trident", s -> s.getItem() instanceof TridentItem, arr(EquipmentSlot.MAINHAND));
+    public static final LootCategory TRIDENT = register("trident", s -> s.getItem() instanceof TridentItem, arr(EquipmentSlot.MAINHAND), false);
     public static final LootCategory SWORD = register("sword",
         s -> s.canPerformAction(ToolActions.SWORD_DIG) || s.getItem().getAttributeModifiers(EquipmentSlot.MAINHAND, s).get(Attributes.ATTACK_DAMAGE).stream().anyMatch(m -> m.getAmount() > 0), arr(EquipmentSlot.MAINHAND));
-    public static final LootCategory NONE = register("none", Predicates.alwaysFalse(), new EquipmentSlot[0]);
+    public static final LootCategory NONE = register("none", Predicates.alwaysFalse(), new EquipmentSlot[0], false);
 
     private final String name;
     private final Predicate<ItemStack> validator;
     private final EquipmentSlot[] slots;
+    private final boolean nbtSensitive;
 
-    private LootCategory(String name, Predicate<ItemStack> validator, EquipmentSlot[] slots) {
+    private LootCategory(String name, Predicate<ItemStack> validator, EquipmentSlot[] slots, boolean nbtSensitive) {
         this.name = Preconditions.checkNotNull(name);
         this.validator = Preconditions.checkNotNull(validator);
         this.slots = Preconditions.checkNotNull(slots);
+        this.nbtSensitive = nbtSensitive;
     }
 
     public String getDescId() {
@@ -89,6 +103,14 @@ public final class LootCategory {
         return this.validator.test(stack);
     }
 
+    /**
+     * If this category's validator may produce different results for stacks of the same item with different NBT.<br>
+     * Results for NBT-sensitive categories are never stored in the per-item classification cache.
+     */
+    public boolean isNbtSensitive() {
+        return this.nbtSensitive;
+    }
+
     public boolean isArmor() {
         return this == HELMET || this == CHESTPLATE || this == LEGGINGS || this == BOOTS;
     }
@@ -142,21 +164,33 @@ public final class LootCategory {
      * @param orderRef   An existing category for ordering. The new category will be placed before the reference category.
      * @param name       The name of this category. May not be an existing name.
      * @param validator  A predicate that checks if an item stack matches this loot category.
-     * @param slotGetter A function that provides the loot categories that bonuses will be active for, if an item is of this category.
+     * @param slotGetter   A function that provides the loot categories that bonuses will be active for, if an item is of this category.
+     * @param nbtSensitive If the validator may return different results for stacks of the same item with different NBT.
      * @return A new loot category, which should be stored in a public static final field.
      */
-    public static final LootCategory register(@Nullable LootCategory orderRef, String name, Predicate<ItemStack> validator, EquipmentSlot[] slots) {
-        var cat = new LootCategory(name, validator, slots);
+    public static final LootCategory register(@Nullable LootCategory orderRef, String name, Predicate<ItemStack> validator, EquipmentSlot[] slots, boolean nbtSensitive) {
+        var cat = new LootCategory(name, validator, slots, nbtSensitive);
         if (BY_ID_INTERNAL.containsKey(name)) throw new IllegalArgumentException("Cannot register a loot category with a duplicate name.");
         BY_ID_INTERNAL.put(name, cat);
 
         int idx = VALUES_INTERNAL.size();
         if (orderRef != null) idx = VALUES_INTERNAL.indexOf(orderRef);
         VALUES_INTERNAL.add(idx, cat);
+        valuesArray = VALUES_INTERNAL.toArray(new LootCategory[VALUES_INTERNAL.size()]);
+        invalidateCache();
 
         return cat;
     }
 
+    /**
+     * Registers a new NBT-sensitive loot category. Results for this category will never be cached per item.
+     *
+     * @see #register(LootCategory, String, Predicate, EquipmentSlot[], boolean)
+     */
+    public static final LootCategory register(@Nullable LootCategory orderRef, String name, Predicate<ItemStack> validator, EquipmentSlot[] slots) {
+        return register(orderRef, name, validator, slots, true);
+    }
+
     /**
      * Looks up a Loot Category by name.
      *
@@ -176,14 +210,36 @@ public final class LootCategory {
      */
     public static LootCategory forItem(ItemStack item) {
         if (item.isEmpty()) return NONE;
+        LootCategory cached = ITEM_CACHE.get(item.getItem());
+        if (cached != null) return cached;
+
         LootCategory override = AdventureConfig.TYPE_OVERRIDES.get(ForgeRegistries.ITEMS.getKey(item.getItem()));
-        if (override != null) return override;
-        for (LootCategory c : VALUES) {
-            if (c.isValid(item)) return c;
+        if (override != null) {
+            ITEM_CACHE.put(item.getItem(), override);
+            return override;
+        }
+
+        boolean definitive = true;
+        for (LootCategory c : valuesArray) {
+            // Once an NBT-sensitive category has been tested, the final result may differ between stacks of this item.
+            definitive &= !c.isNbtSensitive();
+            if (c.isValid(item)) {
+                if (definitive) ITEM_CACHE.put(item.getItem(), c);
+                return c;
+            }
         }
+        if (definitive) ITEM_CACHE.put(item.getItem(), NONE);
         return NONE;
     }
 
+    /**
+     * Clears the per-item classification cache used by {@link #forItem(ItemStack)}.<br>
+     * Called automatically when a category is registered or the type overrides are reloaded.
+     */
+    public static void invalidateCache() {
+        ITEM_CACHE.clear();
+    }
+
     private static EquipmentSlot[] arr(EquipmentSlot... s) {
         return s;
     }
@@ -198,4 +254,8 @@ public final class LootCategory {
     static final LootCategory register(String name, Predicate<ItemStack> validator, EquipmentSlot[] slots) {
         return register(null, name, validator, slots);
     }
+
+    static final LootCategory register(String name, Predicate<ItemStack> validator, EquipmentSlot[] slots, boolean nbtSensitive) {
+        return register(null, name, validator, slots, nbtSensitive);
+    }
 }
@@ -1,10 +1,9 @@
 package shadows.apotheosis.adventure.loot;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
@@ -25,9 +24,8 @@ import shadows.apotheosis.adventure.affix.Affix;
 import shadows.apotheosis.adventure.affix.AffixHelper;
 import shadows.apotheosis.adventure.affix.AffixInstance;
 import shadows.apotheosis.adventure.affix.AffixType;
-import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
+import shadows.apotheosis.adventure.compat.GameStagesCompat;
 import shadows.apotheosis.adventure.loot.LootRarity.LootRule;
-import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
 
 public class LootController {
 
@@ -60,14 +58,15 @@ public class LootController {
             else rule.execute(stack, rarity, selected, sockets, rand);
         }
 
-        Map<Affix, AffixInstance> loaded = new HashMap<>();
-        List<AffixInstance> nameList = new ArrayList<>(selected.size());
+        Map<Affix, AffixInstance> loaded = new HashMap<>(selected.size() + 2);
+        AffixInstance[] nameList = new AffixInstance[selected.size()];
+        int i = 0;
         for (Affix a : selected) {
             AffixInstance inst = new AffixInstance(a, stack, rarity, rand.nextFloat());
             loaded.put(a, inst);
-            nameList.add(inst);
+            nameList[i++] = inst;
         }
-        if (nameList.size() == 0) {
+        if (nameList.length == 0) {
             throw new RuntimeException(String.format("Failed to locate any affixes for %s{%s} with category %s and rarity %s.", stack.getItem(), stack.getTag(), cat, rarity));
         }
 
@@ -81,9 +80,9 @@ public class LootController {
         }
 
         jRand.setSeed(rand.nextLong());
-        Collections.shuffle(nameList, jRand);
-        String key = nameList.size() > 1 ? "misc.apotheosis.affix_name.three" : "misc.apotheosis.affix_name.two";
-        MutableComponent name = Component.translatable(key, nameList.get(0).getName(true), "", nameList.size() > 1 ? nameList.get(1).getName(false) : "").withStyle(Style.EMPTY.withColor(rarity.color()));
+        Collections.shuffle(Arrays.asList(nameList), jRand);
+        String key = nameList.length > 1 ? "misc.apotheosis.affix_name.three" : "misc.apotheosis.affix_name.two";
+        MutableComponent name = Component.translatable(key, nameList[0].getName(true), "", nameList.length > 1 ? nameList[1].getName(false) : "").withStyle(Style.EMPTY.withColor(rarity.color()));
 
         AffixHelper.setRarity(stack, rarity);
         AffixHelper.setAffixes(stack, loaded);
@@ -102,9 +101,23 @@ public class LootController {
      * @return An affix item, or an empty ItemStack if no entries were available for the dimension.
      */
     public static ItemStack createRandomLootItem(RandomSource rand, @Nullable LootRarity rarity, Player player, ServerLevelAccessor level) {
-        AffixLootEntry entry = AffixLootManager.INSTANCE.getRandomItem(rand, player.getLuck(), IDimensional.matches(level.getLevel()), IStaged.matches(player));
+        return createRandomLootItem(rand, rarity, player.getLuck(), GameStagesCompat.getStages(player), level);
+    }
+
+    /**
+     * Pulls a random LootRarity and AffixLootEntry, and generates an Affix Item
+     *
+     * @param rand   Random
+     * @param rarity The rarity, or null if it should be randomly selected.
+     * @param luck   The player's luck level
+     * @param stages The player's game stages, from {@link GameStagesCompat#getStages(Player)}.
+     * @param level  The world, since affix loot entries are per-dimension.
+     * @return An affix item, or an empty ItemStack if no entries were available for the dimension.
+     */
+    public static ItemStack createRandomLootItem(RandomSource rand, @Nullable LootRarity rarity, float luck, @Nullable Set<String> stages, ServerLevelAccessor level) {
+        AffixLootEntry entry = AffixLootManager.INSTANCE.getRandomItem(rand, luck, level.getLevel(), stages);
         if (entry == null) return ItemStack.EMPTY;
-        if (rarity == null) rarity = LootRarity.random(rand, player.getLuck(), entry);
+        if (rarity == null) rarity = LootRarity.random(rand, luck, entry);
         return createLootItem(entry.getStack(), entry.getType(), rarity, rand);
     }
 
@@ -1,12 +1,12 @@
 package shadows.apotheosis.adventure.loot;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -29,13 +29,13 @@ import net.minecraft.network.chat.TextColor;
 import net.minecraft.util.ExtraCodecs;
 import net.minecraft.util.RandomSource;
 import net.minecraft.util.random.WeightedEntry.Wrapper;
-import net.minecraft.util.random.WeightedRandom;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.registries.ForgeRegistries;
 import shadows.apotheosis.adventure.AdventureModule;
 import shadows.apotheosis.adventure.affix.Affix;
-import shadows.apotheosis.adventure.affix.AffixHelper;
+import shadows.apotheosis.adventure.affix.AffixManager;
 import shadows.apotheosis.adventure.affix.AffixType;
+import shadows.apotheosis.util.AliasTable;
 import shadows.placebo.codec.EnumCodec;
 import shadows.placebo.color.GradientColor;
 import shadows.placebo.json.PSerializer;
@@ -49,6 +49,12 @@ public class LootRarity implements ILuckyWeighted, Comparable<LootRarity> {
 
     public static final Codec<LootRarity> CODEC = ExtraCodecs.stringResolverCodec(LootRarity::id, LootRarity::byId);
 
+    /**
+     * Cached samplers for {@link #random(RandomSource, float, LootRarity, LootRarity)}. Cleared when rarity weights are reloaded.
+     */
+    private static final Map<SamplerKey, AliasTable<LootRarity>> SAMPLERS = new ConcurrentHashMap<>();
+    private static final int MAX_SAMPLERS = 256;
+
     public static final LootRarity COMMON = new LootRarity("common", 0x808080, 0, 400, 0, ImmutableList.of(
         new LootRule(AffixType.STAT, 1),
         new LootRule(AffixType.STAT, 0.25F)));
@@ -238,6 +244,7 @@ public class LootRarity implements ILuckyWeighted, Comparable<LootRarity> {
         this.weight = stub.weight;
         this.quality = stub.quality;
         this.rules = ImmutableList.copyOf(stub.rules);
+        SAMPLERS.clear();
     }
 
     @Override
@@ -268,8 +275,18 @@ public class LootRarity implements ILuckyWeighted, Comparable<LootRarity> {
     }
 
     public static LootRarity random(RandomSource rand, float luck, @Nullable LootRarity min, @Nullable LootRarity max) {
-        List<Wrapper<LootRarity>> list = LIST.stream().filter(r -> r.clamp(min, max) == r).map(r -> r.<LootRarity>wrap(luck)).toList();
-        return WeightedRandom.getRandomItem(rand, list).map(Wrapper::getData).get();
+        SamplerKey key = new SamplerKey(min, max, luck);
+        AliasTable<LootRarity> table = SAMPLERS.get(key);
+        if (table == null) {
+            if (SAMPLERS.size() >= MAX_SAMPLERS) SAMPLERS.clear();
+            table = SAMPLERS.computeIfAbsent(key, k -> {
+                List<Wrapper<LootRarity>> list = LIST.stream().filter(r -> r.clamp(min, max) == r).map(r -> r.<LootRarity>wrap(luck)).toList();
+                return AliasTable.of(list);
+            });
+        }
+        LootRarity rarity = table.sample(rand);
+        if (rarity == null) throw new NoSuchElementException("No rarities with non-zero weight between " + min + " and " + max);
+        return rarity;
     }
 
     public static <T> SimpleMapCodec<LootRarity, T> mapCodec(Codec<T> codec) {
@@ -325,8 +342,6 @@ public class LootRarity implements ILuckyWeighted, Comparable<LootRarity> {
             ExtraCodecs.lazyInitializedCodec(() -> LootRule.CODEC).optionalFieldOf("backup").forGetter(rule -> Optional.ofNullable(rule.backup())))
             .apply(inst, LootRule::new));
 
-        private static Random jRand = new Random();
-
         public LootRule(AffixType type, float chance) {
             this(type, chance, Optional.empty());
         }
@@ -342,17 +357,30 @@ public class LootRarity implements ILuckyWeighted, Comparable<LootRarity> {
                     sockets.add(1);
                     return;
                 }
-                List<Affix> available = AffixHelper.byType(this.type).stream().filter(a -> a.canApplyTo(stack, LootCategory.forItem(stack), rarity) && !currentAffixes.contains(a)).collect(Collectors.toList());
-                if (available.size() == 0) {
+                LootCategory cat = LootCategory.forItem(stack);
+                Affix[] candidates = AffixManager.INSTANCE.getCandidates(this.type, cat, rarity);
+                int available = 0;
+                for (Affix a : candidates) {
+                    if (isAvailable(a, stack, cat, rarity, currentAffixes)) available++;
+                }
+                if (available == 0) {
                     if (this.backup != null) this.backup.execute(stack, rarity, currentAffixes, sockets, rand);
                     else AdventureModule.LOGGER.error("Failed to execute LootRule {}/{}/{}/{}!", ForgeRegistries.ITEMS.getKey(stack.getItem()), rarity.id(), this.type, this.chance);
                     return;
                 }
-                jRand.setSeed(rand.nextLong());
-                Collections.shuffle(available, jRand);
-                currentAffixes.add(available.get(0));
+                int selected = rand.nextInt(available);
+                for (Affix a : candidates) {
+                    if (isAvailable(a, stack, cat, rarity, currentAffixes) && selected-- == 0) {
+                        currentAffixes.add(a);
+                        return;
+                    }
+                }
             }
         }
+
+        private static boolean isAvailable(Affix affix, ItemStack stack, LootCategory cat, LootRarity rarity, Set<Affix> currentAffixes) {
+            return !currentAffixes.contains(affix) && (!affix.isNbtSensitive() || affix.canApplyTo(stack, cat, rarity));
+        }
     }
 
     public static interface Clamped {
@@ -398,6 +426,8 @@ public class LootRarity implements ILuckyWeighted, Comparable<LootRarity> {
 
     }
 
+    private static record SamplerKey(@Nullable LootRarity min, @Nullable LootRarity max, float luck) {}
+
     @Override
     public int compareTo(LootRarity o) {
         return Integer.compare(this.ordinal, o.ordinal);
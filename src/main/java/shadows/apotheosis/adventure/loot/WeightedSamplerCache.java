@@ -0,0 +1,102 @@
+package shadows.apotheosis.adventure.loot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
+import net.minecraft.util.random.WeightedEntry.Wrapper;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+import shadows.apotheosis.adventure.boss.MinibossManager.IEntityMatch;
+import shadows.apotheosis.adventure.compat.GameStagesCompat;
+import shadows.apotheosis.adventure.compat.GameStagesCompat.IStaged;
+import shadows.apotheosis.util.AliasTable;
+import shadows.placebo.json.WeightedJsonReloadListener.IDimensional;
+import shadows.placebo.json.WeightedJsonReloadListener.ILuckyWeighted;
+
+/**
+ * Lazily-built {@link AliasTable} samplers over the contents of a weighted reload listener.<br>
+ * Each table is keyed by the context that the standard {@link IDimensional}, {@link IStaged} and {@link IEntityMatch} filters would test,
+ * plus the luck level, so repeated rolls with the same context are O(1) instead of re-filtering and re-weighting every entry.
+ * <p>
+ * Owners must call {@link #invalidate()} whenever their contents change.
+ * Arbitrary predicates are not supported; those should still go through {@code WeightedJsonReloadListener#getRandomItem}.
+ */
+public class WeightedSamplerCache<V extends ILuckyWeighted> {
+
+    /**
+     * Upper bound on the number of cached tables. Luck is a continuous value, so the cache is dropped when this is exceeded.
+     */
+    private static final int MAX_SIZE = 512;
+
+    private final Supplier<Collection<V>> source;
+    private final Map<Key, AliasTable<V>> tables = new ConcurrentHashMap<>();
+
+    public WeightedSamplerCache(Supplier<Collection<V>> source) {
+        this.source = source;
+    }
+
+    /**
+     * Selects a random item that is valid in the given context.
+     *
+     * @param rand   The random source.
+     * @param luck   The luck level, used to adjust the weight of each item.
+     * @param level  The level the item will be used in, or null to ignore dimension restrictions.
+     * @param stages The game stages of the player the item is for (see {@link GameStagesCompat#getStages}), or null to ignore game stage restrictions.
+     * @param type   The entity the item will be applied to, or null to ignore entity restrictions.
+     * @return A random item, or null if no items were valid in the given context.
+     */
+    @Nullable
+    public V sample(RandomSource rand, float luck, @Nullable Level level, @Nullable Set<String> stages, @Nullable EntityType<?> type) {
+        ResourceLocation dim = level == null ? null : level.dimension().location();
+        Key key = new Key(dim, stages, type, luck);
+        AliasTable<V> table = this.tables.get(key);
+        if (table == null) {
+            if (this.tables.size() >= MAX_SIZE) this.tables.clear();
+            table = this.tables.computeIfAbsent(key, this::build);
+        }
+        return table.sample(rand);
+    }
+
+    /**
+     * Drops all cached tables. They will be rebuilt on demand.
+     */
+    public void invalidate() {
+        this.tables.clear();
+    }
+
+    private AliasTable<V> build(Key key) {
+        Collection<V> values = this.source.get();
+        List<Wrapper<V>> list = new ArrayList<>(values.size());
+        for (V item : values) {
+            if (key.matches(item)) list.add(item.<V>wrap(key.luck()));
+        }
+        return AliasTable.of(list);
+    }
+
+    /**
+     * @param dimension The dimension, or null to ignore {@link IDimensional}.
+     * @param stages    The player's stages, or null to ignore {@link IStaged}.
+     * @param entity    The entity type, or null to ignore {@link IEntityMatch}.
+     * @param luck      The luck level.
+     */
+    private static record Key(@Nullable ResourceLocation dimension, @Nullable Set<String> stages, @Nullable EntityType<?> entity, float luck) {
+
+        boolean matches(ILuckyWeighted item) {
+            if (this.dimension != null && item instanceof IDimensional dimensional && !IDimensional.matches(this.dimension).test(dimensional)) return false;
+            if (item instanceof IStaged staged && !GameStagesCompat.hasStage(this.stages, staged.getStages())) return false;
+            if (this.entity != null && item instanceof IEntityMatch match && !IEntityMatch.matches(this.entity).test(match)) return false;
+            return true;
+        }
+
+    }
+
+}
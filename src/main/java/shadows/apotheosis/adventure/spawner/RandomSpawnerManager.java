@@ -15,9 +15,11 @@ import com.mojang.serialization.JsonOps;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
 import net.minecraft.util.random.SimpleWeightedRandomList;
 import net.minecraft.world.level.SpawnData;
 import shadows.apotheosis.adventure.AdventureModule;
+import shadows.apotheosis.adventure.loot.WeightedSamplerCache;
 import shadows.placebo.json.NBTAdapter;
 import shadows.placebo.json.WeightedJsonReloadListener;
 
@@ -32,10 +34,29 @@ public class RandomSpawnerManager extends WeightedJsonReloadListener<SpawnerItem
 
     public static final RandomSpawnerManager INSTANCE = new RandomSpawnerManager();
 
+    private final WeightedSamplerCache<SpawnerItem> samplers = new WeightedSamplerCache<>(this::getValues);
+
     public RandomSpawnerManager() {
         super(AdventureModule.LOGGER, "random_spawners", false, false);
     }
 
+    @Override
+    protected void beginReload() {
+        super.beginReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    protected void onReload() {
+        super.onReload();
+        this.samplers.invalidate();
+    }
+
+    @Override
+    public SpawnerItem getRandomItem(RandomSource rand, float luck) {
+        return this.samplers.sample(rand, luck, null, null, null);
+    }
+
     @Override
     protected void registerBuiltinSerializers() {
         this.registerSerializer(DEFAULT, SpawnerItem.SERIALIZER);
@@ -50,7 +50,14 @@ public class AttributesLib {
         .networkProtocolVersion(() -> "1.0.0")
         .simpleChannel();
 
+    /**
+     * If melee bonus damage (current HP, fire and cold damage) is merged into the primary hit instead of being dealt as separate hits.
+     */
+    public static boolean compositeMeleeDamage = true;
+
     public AttributesLib() {
+        compositeMeleeDamage = Apotheosis.config.getBoolean("Composite Melee Damage", "attributes", true,
+            "If melee bonus damage (Current HP, Fire and Cold Damage) is added to the primary hit instead of being dealt as separate hits.\nBonus damage goes through the primary hit's armor, protection and absorption. Elemental damage still ignores armor, but uses the primary hit's protection. It is not affected by critical strikes or life steal.\nIf the primary hit is blocked by a shield or ignored due to invulnerability frames, the bonus damage, fire and slowness are lost. With separate hits, they bypassed invulnerability frames, and elemental damage also went through shields.\nDisable to restore the old behavior, where each bonus is a separate hit that fires its own damage events.");
         MinecraftForge.EVENT_BUS.register(new AttributeEvents());
         if (FMLEnvironment.dist.isClient()) {
             MinecraftForge.EVENT_BUS.register(new AttributesLibClient());
@@ -3,6 +3,7 @@ package shadows.apotheosis.core.attributeslib.asm;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.LivingEntity;
 import shadows.apotheosis.core.attributeslib.api.ALAttributes;
+import shadows.apotheosis.core.attributeslib.util.CombatSnapshot;
 
 /**
  * Contains AL-specific combat calculations for armor and protection values.
@@ -23,11 +24,12 @@ public class ALCombatRules {
      */
     public static float getDamageAfterProtection(LivingEntity target, DamageSource src, float amount, float protPoints) {
         if (src.getEntity() instanceof LivingEntity attacker) {
-            float shred = (float) attacker.getAttributeValue(ALAttributes.PROT_SHRED.get());
+            CombatSnapshot stats = CombatSnapshot.of(attacker);
+            float shred = stats.protShred;
             if (shred > 0.001F) {
                 protPoints *= 1 - shred;
             }
-            float pierce = (float) attacker.getAttributeValue(ALAttributes.PROT_PIERCE.get());
+            float pierce = stats.protPierce;
             if (pierce > 0.001F) {
                 protPoints -= pierce;
             }
@@ -70,13 +72,14 @@ public class ALCombatRules {
      */
     public static float getDamageAfterArmor(LivingEntity target, DamageSource src, float amount, float armor, float toughness) {
         if (src.getEntity() instanceof LivingEntity attacker) {
-            float shred = (float) attacker.getAttributeValue(ALAttributes.ARMOR_SHRED.get());
+            CombatSnapshot stats = CombatSnapshot.of(attacker);
+            float shred = stats.armorShred;
             float bypassResist = Math.min(toughness * 0.02F, 0.6F);
             if (shred > 0.001F) {
                 shred *= 1 - bypassResist;
                 armor *= 1 - shred;
             }
-            float pierce = (float) attacker.getAttributeValue(ALAttributes.ARMOR_PIERCE.get());
+            float pierce = stats.armorPierce;
             if (pierce > 0.001F) {
                 pierce *= 1 - bypassResist;
                 armor -= pierce;
@@ -2,12 +2,8 @@ package shadows.apotheosis.core.attributeslib.client;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
-import java.util.UUID;
 
 import javax.annotation.Nullable;
 
@@ -37,16 +33,16 @@ import net.minecraft.util.FormattedCharSequence;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.ai.attributes.Attribute;
 import net.minecraft.world.entity.ai.attributes.AttributeInstance;
-import net.minecraft.world.entity.ai.attributes.AttributeModifier;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier.Operation;
 import net.minecraft.world.entity.ai.attributes.RangedAttribute;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
-import net.minecraftforge.registries.ForgeRegistries;
 import shadows.apotheosis.Apotheosis;
 import shadows.apotheosis.core.attributeslib.AttributesLib;
 import shadows.apotheosis.core.attributeslib.api.IFormattableAttribute;
+import shadows.apotheosis.core.attributeslib.client.AttributesViewModel.Breakdown;
+import shadows.apotheosis.core.attributeslib.client.AttributesViewModel.SourcedModifier;
 import shadows.placebo.PlaceboClient;
 
 public class AttributesGui extends GuiComponent implements Widget, GuiEventListener {
@@ -74,15 +70,24 @@ public class AttributesGui extends GuiComponent implements Widget, GuiEventListe
     protected int leftPos, topPos;
     protected boolean scrolling;
     protected int startIndex;
+    protected final AttributesViewModel model;
     protected List<AttributeInstance> data = new ArrayList<>();
     @Nullable
     protected AttributeInstance selected = null;
     protected boolean open = false;
     protected long lastRenderTick = -1;
 
+    // The tooltip of the hovered attribute, which is only rebuilt when the hovered attribute or the view model changes.
+    @Nullable
+    protected AttributeInstance tooltipAttr = null;
+    protected List<ClientTooltipComponent> tooltip = List.of();
+    protected int tooltipVersion, tooltipLeftPos;
+    protected boolean tooltipAdvanced;
+
     public AttributesGui(InventoryScreen parent) {
         this.parent = parent;
         this.player = Minecraft.getInstance().player;
+        this.model = new AttributesViewModel(this.player);
         this.refreshData();
         this.leftPos = parent.getGuiLeft() - WIDTH;
         this.topPos = parent.getGuiTop();
@@ -98,12 +103,7 @@ public class AttributesGui extends GuiComponent implements Widget, GuiEventListe
     }
 
     public void refreshData() {
-        this.data.clear();
-        ForgeRegistries.ATTRIBUTES.getValues().stream().map(this.player::getAttribute).filter(Objects::nonNull).filter(ai -> {
-            if (!hideUnchanged) return true;
-            return ai.getBaseValue() != ai.getValue();
-        }).forEach(this.data::add);
-        this.data.sort(this::compareAttrs);
+        if (this.model.update(hideUnchanged)) this.data = this.model.getVisible();
         this.startIndex = (int) (scrollOffset * this.getOffScreenRows() + 0.5D);
     }
 
@@ -130,12 +130,6 @@ public class AttributesGui extends GuiComponent implements Widget, GuiEventListe
         this.hideUnchangedBtn.setPosition(this.leftPos + 7, this.topPos + 151);
     }
 
-    protected int compareAttrs(AttributeInstance a1, AttributeInstance a2) {
-        String name = I18n.get(a1.getAttribute().getDescriptionId());
-        String name2 = I18n.get(a2.getAttribute().getDescriptionId());
-        return name.compareTo(name2);
-    }
-
     @Override
     public boolean isMouseOver(double pMouseX, double pMouseY) {
         if (!this.open) return false;
@@ -173,113 +167,121 @@ public class AttributesGui extends GuiComponent implements Widget, GuiEventListe
         this.font.draw(stack, Component.literal("Hide Unchanged"), this.leftPos + 20, this.topPos + 152, 0x404040);
     }
 
-    @SuppressWarnings("deprecation")
     protected void renderTooltip(PoseStack stack, int mouseX, int mouseY) {
         AttributeInstance inst = this.getHoveredSlot(mouseX, mouseY);
         if (inst != null) {
-            Attribute attr = inst.getAttribute();
-            IFormattableAttribute fAttr = (IFormattableAttribute) attr;
-            List<Component> list = new ArrayList<>();
-            MutableComponent name = Component.translatable(attr.getDescriptionId()).withStyle(Style.EMPTY.withColor(ChatFormatting.GOLD).withUnderlined(true));
-            if (AttributesLib.getTooltipFlag().isAdvanced()) {
-                Style style = Style.EMPTY.withColor(ChatFormatting.GRAY).withUnderlined(false);
-                name.append(Component.literal(" [" + Registry.ATTRIBUTE.getKey(attr).toString() + "]").withStyle(style));
-            }
-            list.add(name);
+            List<ClientTooltipComponent> finalTooltip = this.getTooltip(inst);
+            this.parent.renderTooltip(stack, List.of(), 0, 0, this.font); // This no-op call sets Screen#tooltipFont, which is used in renderTooltipInternal
+            this.parent.renderTooltipInternal(stack, finalTooltip, this.leftPos - 16 - finalTooltip.stream().map(c -> c.getWidth(this.font)).max(Integer::compare).get(), mouseY);
+        }
+    }
 
-            String key = attr.getDescriptionId() + ".desc";
+    /**
+     * Retrieves the tooltip components for the given attribute, rebuilding them if the view model has changed since they were last built.
+     */
+    protected List<ClientTooltipComponent> getTooltip(AttributeInstance inst) {
+        boolean advanced = AttributesLib.getTooltipFlag().isAdvanced();
+        if (this.tooltipAttr != inst || this.tooltipVersion != this.model.getVersion() || this.tooltipLeftPos != this.leftPos || this.tooltipAdvanced != advanced) {
+            this.tooltip = this.buildTooltip(inst);
+            this.tooltipAttr = inst;
+            this.tooltipVersion = this.model.getVersion();
+            this.tooltipLeftPos = this.leftPos;
+            this.tooltipAdvanced = advanced;
+        }
+        return this.tooltip;
+    }
 
-            if (I18n.exists(key)) {
-                Component txt = Component.translatable(key).withStyle(ChatFormatting.YELLOW, ChatFormatting.ITALIC);
-                list.add(txt);
-            }
-            else if (AttributesLib.getTooltipFlag().isAdvanced()) {
-                Component txt = Component.literal(key).withStyle(ChatFormatting.GRAY, ChatFormatting.ITALIC);
-                list.add(txt);
-            }
+    @SuppressWarnings("deprecation")
+    protected List<ClientTooltipComponent> buildTooltip(AttributeInstance inst) {
+        Attribute attr = inst.getAttribute();
+        IFormattableAttribute fAttr = (IFormattableAttribute) attr;
+        List<Component> list = new ArrayList<>();
+        MutableComponent name = Component.translatable(attr.getDescriptionId()).withStyle(Style.EMPTY.withColor(ChatFormatting.GOLD).withUnderlined(true));
+        if (AttributesLib.getTooltipFlag().isAdvanced()) {
+            Style style = Style.EMPTY.withColor(ChatFormatting.GRAY).withUnderlined(false);
+            name.append(Component.literal(" [" + Registry.ATTRIBUTE.getKey(attr).toString() + "]").withStyle(style));
+        }
+        list.add(name);
 
-            list.add(CommonComponents.EMPTY);
+        String key = attr.getDescriptionId() + ".desc";
 
-            ChatFormatting color = ChatFormatting.GRAY;
-            if (attr instanceof RangedAttribute ra) {
-                if (inst.getValue() > inst.getBaseValue()) {
-                    color = ChatFormatting.YELLOW;
-                }
-                else if (inst.getValue() < inst.getBaseValue()) {
-                    color = ChatFormatting.RED;
-                }
-            }
-            MutableComponent valueComp = fAttr.toValueComponent(Operation.ADDITION, inst.getValue(), AttributesLib.getTooltipFlag());
-            list.add(Component.translatable("Current: %s", valueComp.withStyle(color)).withStyle(ChatFormatting.GRAY));
-
-            MutableComponent baseVal = fAttr.toValueComponent(Operation.ADDITION, inst.getBaseValue(), AttributesLib.getTooltipFlag());
-
-            baseVal = Component.translatable("attributeslib.gui.base", baseVal);
-            if (attr instanceof RangedAttribute ra) {
-                Component min = fAttr.toValueComponent(Operation.ADDITION, ra.getMinValue(), AttributesLib.getTooltipFlag());
-                min = Component.translatable("attributeslib.gui.min", min);
-                Component max = fAttr.toValueComponent(Operation.ADDITION, ra.getMaxValue(), AttributesLib.getTooltipFlag());
-                max = Component.translatable("attributeslib.gui.max", max);
-                list.add(Component.translatable("%s \u2507 %s \u2507 %s", baseVal, min, max).withStyle(ChatFormatting.GRAY));
+        if (I18n.exists(key)) {
+            Component txt = Component.translatable(key).withStyle(ChatFormatting.YELLOW, ChatFormatting.ITALIC);
+            list.add(txt);
+        }
+        else if (AttributesLib.getTooltipFlag().isAdvanced()) {
+            Component txt = Component.literal(key).withStyle(ChatFormatting.GRAY, ChatFormatting.ITALIC);
+            list.add(txt);
+        }
+
+        list.add(CommonComponents.EMPTY);
+
+        ChatFormatting color = ChatFormatting.GRAY;
+        if (attr instanceof RangedAttribute ra) {
+            if (inst.getValue() > inst.getBaseValue()) {
+                color = ChatFormatting.YELLOW;
             }
-            else {
-                list.add(baseVal.withStyle(ChatFormatting.GRAY));
+            else if (inst.getValue() < inst.getBaseValue()) {
+                color = ChatFormatting.RED;
             }
+        }
+        MutableComponent valueComp = fAttr.toValueComponent(Operation.ADDITION, inst.getValue(), AttributesLib.getTooltipFlag());
+        list.add(Component.translatable("Current: %s", valueComp.withStyle(color)).withStyle(ChatFormatting.GRAY));
 
-            List<ClientTooltipComponent> finalTooltip = new ArrayList<>(list.size());
-            for (Component txt : list) {
-                this.addComp(txt, finalTooltip);
-            }
+        MutableComponent baseVal = fAttr.toValueComponent(Operation.ADDITION, inst.getBaseValue(), AttributesLib.getTooltipFlag());
 
-            if (inst.getModifiers().stream().anyMatch(modif -> modif.getAmount() != 0)) {
-                this.addComp(CommonComponents.EMPTY, finalTooltip);
-                this.addComp(Component.translatable("attributeslib.gui.modifiers").withStyle(ChatFormatting.GOLD), finalTooltip);
+        baseVal = Component.translatable("attributeslib.gui.base", baseVal);
+        if (attr instanceof RangedAttribute ra) {
+            Component min = fAttr.toValueComponent(Operation.ADDITION, ra.getMinValue(), AttributesLib.getTooltipFlag());
+            min = Component.translatable("attributeslib.gui.min", min);
+            Component max = fAttr.toValueComponent(Operation.ADDITION, ra.getMaxValue(), AttributesLib.getTooltipFlag());
+            max = Component.translatable("attributeslib.gui.max", max);
+            list.add(Component.translatable("%s \u2507 %s \u2507 %s", baseVal, min, max).withStyle(ChatFormatting.GRAY));
+        }
+        else {
+            list.add(baseVal.withStyle(ChatFormatting.GRAY));
+        }
 
-                Map<UUID, ModifierSource<?>> modifiersToSources = new HashMap<>();
+        List<ClientTooltipComponent> finalTooltip = new ArrayList<>(list.size());
+        for (Component txt : list) {
+            this.addComp(txt, finalTooltip);
+        }
 
-                for (ModifierSourceType<?> type : ModifierSourceType.getTypes()) {
-                    type.extract(this.player, (modif, source) -> modifiersToSources.put(modif.getId(), source));
-                }
+        Breakdown breakdown = this.model.getBreakdown(inst);
+        if (breakdown.hasAny()) {
+            this.addComp(CommonComponents.EMPTY, finalTooltip);
+            this.addComp(Component.translatable("attributeslib.gui.modifiers").withStyle(ChatFormatting.GOLD), finalTooltip);
+
+            Component[] opValues = new Component[3];
 
-                Component[] opValues = new Component[3];
-
-                for (Operation op : Operation.values()) {
-                    List<AttributeModifier> modifiers = new ArrayList<>(inst.getModifiers(op));
-                    double opValue = modifiers.stream().mapToDouble(AttributeModifier::getAmount).reduce(op == Operation.MULTIPLY_TOTAL ? 1 : 0, (res, elem) -> op == Operation.MULTIPLY_TOTAL ? res * (1 + elem) : res + elem);
-
-                    modifiers.sort(ModifierSourceType.compareBySource(modifiersToSources));
-                    for (AttributeModifier modif : modifiers) {
-                        if (modif.getAmount() != 0) {
-                            Component comp = fAttr.toComponent(modif, AttributesLib.getTooltipFlag());
-                            var src = modifiersToSources.get(modif.getId());
-                            finalTooltip.add(new AttributeModifierComponent(src, comp, this.font, this.leftPos - 16));
-                        }
-                    }
-                    color = ChatFormatting.GRAY;
-                    double threshold = op == Operation.MULTIPLY_TOTAL ? 1.0005 : 0.0005;
-
-                    if (opValue > threshold) {
-                        color = ChatFormatting.YELLOW;
-                    }
-                    else if (opValue < -threshold) {
-                        color = ChatFormatting.RED;
-                    }
-                    Component valueComp2 = fAttr.toValueComponent(op, opValue, AttributesLib.getTooltipFlag()).withStyle(color);
-                    Component comp = Component.translatable("attributeslib.gui." + op.name().toLowerCase(Locale.ROOT), valueComp2).withStyle(ChatFormatting.GRAY, ChatFormatting.ITALIC);
-                    opValues[op.ordinal()] = comp;
+            for (Operation op : Operation.values()) {
+                for (SourcedModifier modif : breakdown.modifiers()[op.ordinal()]) {
+                    Component comp = fAttr.toComponent(modif.modifier(), AttributesLib.getTooltipFlag());
+                    finalTooltip.add(new AttributeModifierComponent(modif.source(), comp, this.font, this.leftPos - 16));
                 }
+                double opValue = breakdown.totals()[op.ordinal()];
+                color = ChatFormatting.GRAY;
+                double threshold = op == Operation.MULTIPLY_TOTAL ? 1.0005 : 0.0005;
 
-                if (AttributesLib.getTooltipFlag().isAdvanced()) {
-                    this.addComp(CommonComponents.EMPTY, finalTooltip);
-                    for (Component comp : opValues) {
-                        this.addComp(comp, finalTooltip);
-                    }
+                if (opValue > threshold) {
+                    color = ChatFormatting.YELLOW;
+                }
+                else if (opValue < -threshold) {
+                    color = ChatFormatting.RED;
                 }
+                Component valueComp2 = fAttr.toValueComponent(op, opValue, AttributesLib.getTooltipFlag()).withStyle(color);
+                Component comp = Component.translatable("attributeslib.gui." + op.name().toLowerCase(Locale.ROOT), valueComp2).withStyle(ChatFormatting.GRAY, ChatFormatting.ITALIC);
+                opValues[op.ordinal()] = comp;
             }
 
-            this.parent.renderTooltip(stack, List.of(), 0, 0, this.font); // This no-op call sets Screen#tooltipFont, which is used in renderTooltipInternal
-            this.parent.renderTooltipInternal(stack, finalTooltip, this.leftPos - 16 - finalTooltip.stream().map(c -> c.getWidth(this.font)).max(Integer::compare).get(), mouseY);
+            if (AttributesLib.getTooltipFlag().isAdvanced()) {
+                this.addComp(CommonComponents.EMPTY, finalTooltip);
+                for (Component comp : opValues) {
+                    this.addComp(comp, finalTooltip);
+                }
+            }
         }
+        return finalTooltip;
     }
 
     private void addComp(Component comp, List<ClientTooltipComponent> finalTooltip) {
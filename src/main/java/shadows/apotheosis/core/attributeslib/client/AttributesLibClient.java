@@ -35,6 +35,7 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.TextColor;
 import net.minecraft.network.chat.contents.LiteralContents;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.Entity;
@@ -48,6 +49,8 @@ import net.minecraft.world.item.ItemStack.TooltipPart;
 import net.minecraft.world.item.PotionItem;
 import net.minecraft.world.item.TooltipFlag;
 import net.minecraft.world.item.alchemy.PotionUtils;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.client.event.RegisterParticleProvidersEvent;
 import net.minecraftforge.client.event.ScreenEvent;
 import net.minecraftforge.common.MinecraftForge;
@@ -92,11 +95,36 @@ public class AttributesLibClient {
             it.next();
             it.remove();
         }
+
+        TooltipCache.Entry entry = TooltipCache.get(stack, e.getFlags());
+        boolean shift = Screen.hasShiftDown();
+        List<Component> cached = entry.getAttributeLines(e.getEntity(), shift);
+        if (cached != null) {
+            list.addAll(markIdx1, cached);
+            return;
+        }
+
         int flags = getHideFlags(stack);
         if (shouldShowInTooltip(flags, TooltipPart.MODIFIERS)) {
             applyModifierTooltips(e.getEntity(), stack, it::add, e.getFlags());
         }
         MinecraftForge.EVENT_BUS.post(new AddAttributeTooltipsEvent(stack, e.getEntity(), list, it, e.getFlags()));
+        entry.setAttributeLines(e.getEntity(), shift, list.subList(markIdx1, it.nextIndex()));
+    }
+
+    @SubscribeEvent
+    public static void clearTooltipCache(RegisterClientReloadListenersEvent e) {
+        e.registerReloadListener((ResourceManagerReloadListener) rm -> TooltipCache.clear());
+    }
+
+    @SubscribeEvent
+    public void clearTooltipCache(ClientPlayerNetworkEvent.LoggingOut e) {
+        TooltipCache.clear();
+    }
+
+    @SubscribeEvent
+    public void clearTooltipCache(ClientPlayerNetworkEvent.Clone e) {
+        TooltipCache.clear();
     }
 
     @SubscribeEvent(priority = EventPriority.HIGH)
@@ -0,0 +1,164 @@
+package shadows.apotheosis.core.attributeslib.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.client.resources.language.I18n;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier.Operation;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.registries.ForgeRegistries;
+import shadows.apotheosis.core.attributeslib.util.ModCountedAttributeMap;
+
+/**
+ * Retained data backing the {@link AttributesGui}.<br>
+ * The attribute list and modifier breakdowns are only recomputed when the player's attributes or equipment change,
+ * instead of every time the screen is rendered.
+ */
+public class AttributesViewModel {
+
+    private static final EquipmentSlot[] SLOTS = EquipmentSlot.values();
+
+    protected final Player player;
+    protected final ItemStack[] equipment = new ItemStack[SLOTS.length];
+    protected int modCount;
+    protected boolean hideUnchanged;
+    protected int version = 0;
+
+    protected List<AttributeInstance> all;
+    protected List<AttributeInstance> visible = Collections.emptyList();
+    @Nullable
+    protected Map<UUID, ModifierSource<?>> sources;
+    protected final Map<Attribute, Breakdown> breakdowns = new IdentityHashMap<>();
+
+    public AttributesViewModel(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Checks if the player's attributes or equipment have changed, and recomputes the model if they have.
+     *
+     * @param hideUnchanged If attributes whose value equals their base value should be hidden.
+     * @return True if the model was recomputed.
+     */
+    public boolean update(boolean hideUnchanged) {
+        boolean dirty = this.all == null || this.hideUnchanged != hideUnchanged;
+
+        // Any change to a modifier or base value marks the attribute dirty, which increments the map's modification count.
+        int modCount = ModCountedAttributeMap.getModCount(this.player);
+        if (this.modCount != modCount) dirty = true;
+
+        // Swapping equipment may change the source of a modifier without changing the modifier itself.
+        for (int i = 0; i < SLOTS.length; i++) {
+            ItemStack stack = this.player.getItemBySlot(SLOTS[i]);
+            if (this.equipment[i] != stack) {
+                this.equipment[i] = stack;
+                dirty = true;
+            }
+        }
+
+        if (!dirty) return false;
+
+        if (this.all == null) {
+            // Attribute instances are never removed from the map, so the sorted list of all instances only needs to be built once.
+            this.all = new ArrayList<>();
+            ForgeRegistries.ATTRIBUTES.getValues().stream().map(this.player::getAttribute).filter(Objects::nonNull).forEach(this.all::add);
+            this.all.sort(AttributesViewModel::compareAttrs);
+        }
+
+        this.modCount = modCount;
+        this.hideUnchanged = hideUnchanged;
+        List<AttributeInstance> visible = new ArrayList<>(this.all.size());
+        for (AttributeInstance inst : this.all) {
+            if (!hideUnchanged || inst.getBaseValue() != inst.getValue()) visible.add(inst);
+        }
+        this.visible = Collections.unmodifiableList(visible);
+        this.sources = null;
+        this.breakdowns.clear();
+        this.version++;
+        return true;
+    }
+
+    /**
+     * @return The attributes to display, sorted by name.
+     */
+    public List<AttributeInstance> getVisible() {
+        return this.visible;
+    }
+
+    /**
+     * @return A counter which is incremented every time the model is recomputed.
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Retrieves the modifier breakdown for the given attribute, computing it if necessary.
+     */
+    public Breakdown getBreakdown(AttributeInstance inst) {
+        return this.breakdowns.computeIfAbsent(inst.getAttribute(), k -> Breakdown.of(inst, this.getSources()));
+    }
+
+    protected Map<UUID, ModifierSource<?>> getSources() {
+        if (this.sources == null) {
+            Map<UUID, ModifierSource<?>> sources = new HashMap<>();
+            for (ModifierSourceType<?> type : ModifierSourceType.getTypes()) {
+                type.extract(this.player, (modif, source) -> sources.put(modif.getId(), source));
+            }
+            this.sources = sources;
+        }
+        return this.sources;
+    }
+
+    protected static int compareAttrs(AttributeInstance a1, AttributeInstance a2) {
+        String name = I18n.get(a1.getAttribute().getDescriptionId());
+        String name2 = I18n.get(a2.getAttribute().getDescriptionId());
+        return name.compareTo(name2);
+    }
+
+    /**
+     * The modifiers of a single attribute, grouped by operation and sorted by source.
+     *
+     * @param modifiers The non-zero modifiers for each operation, indexed by {@link Operation#ordinal()}.
+     * @param totals    The combined value of all modifiers for each operation, indexed by {@link Operation#ordinal()}.
+     * @param hasAny    If any non-zero modifiers are present.
+     */
+    public static record Breakdown(List<SourcedModifier>[] modifiers, double[] totals, boolean hasAny) {
+
+        @SuppressWarnings("unchecked")
+        public static Breakdown of(AttributeInstance inst, Map<UUID, ModifierSource<?>> sources) {
+            Operation[] ops = Operation.values();
+            List<SourcedModifier>[] modifiers = new List[ops.length];
+            double[] totals = new double[ops.length];
+            boolean hasAny = false;
+            for (Operation op : ops) {
+                List<AttributeModifier> list = new ArrayList<>(inst.getModifiers(op));
+                totals[op.ordinal()] = list.stream().mapToDouble(AttributeModifier::getAmount).reduce(op == Operation.MULTIPLY_TOTAL ? 1 : 0, (res, elem) -> op == Operation.MULTIPLY_TOTAL ? res * (1 + elem) : res + elem);
+                list.sort(ModifierSourceType.compareBySource(sources));
+                List<SourcedModifier> sourced = new ArrayList<>(list.size());
+                for (AttributeModifier modif : list) {
+                    if (modif.getAmount() != 0) sourced.add(new SourcedModifier(modif, sources.get(modif.getId())));
+                }
+                hasAny |= !sourced.isEmpty();
+                modifiers[op.ordinal()] = sourced;
+            }
+            return new Breakdown(modifiers, totals, hasAny);
+        }
+    }
+
+    public static record SourcedModifier(AttributeModifier modifier, @Nullable ModifierSource<?> source) {}
+
+}
@@ -0,0 +1,140 @@
+package shadows.apotheosis.core.attributeslib.client;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.tooltip.TooltipComponent;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.TooltipFlag;
+import shadows.apotheosis.core.attributeslib.util.ModCountedAttributeMap;
+
+/**
+ * A bounded cache of the tooltip lines and components that Apotheosis adds to items.<br>
+ * Tooltips are rebuilt every frame while they are shown, but the parts added by Apotheosis only depend on the item, its NBT, the tooltip flag, and the language.
+ * <p>
+ * Entries are evicted least-recently-used once {@link #MAX_SIZE} is exceeded, and the whole cache is cleared on resource reload,
+ * when affix or gem data is synced, and when the client player changes.
+ * <p>
+ * Client-side. Lookups happen on the render thread, but {@link #clear()} may be called from any thread.
+ */
+public class TooltipCache {
+
+    public static final int MAX_SIZE = 256;
+
+    private static final Map<Key, Entry> CACHE = new LinkedHashMap<>(64, 0.75F, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return this.size() > MAX_SIZE;
+        }
+    };
+
+    private static volatile int generation;
+    private static int cacheGeneration;
+
+    /**
+     * Retrieves the cache entry for the given stack, creating an empty entry if necessary.
+     */
+    public static Entry get(ItemStack stack, TooltipFlag flag) {
+        int gen = generation;
+        if (gen != cacheGeneration) {
+            CACHE.clear();
+            cacheGeneration = gen;
+        }
+        String lang = Minecraft.getInstance().getLanguageManager().getSelected().getCode();
+        CompoundTag tag = stack.getTag();
+        Entry entry = CACHE.get(new Key(stack.getItem(), tag, flag.isAdvanced(), lang));
+        if (entry == null) {
+            entry = new Entry();
+            // The stored key must own a copy of the tag, since the stack's tag may be modified later.
+            CACHE.put(new Key(stack.getItem(), tag == null ? null : tag.copy(), flag.isAdvanced(), lang), entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Discards all cached entries. The cache is emptied on the next lookup, so this is safe to call from reload threads.
+     */
+    public static void clear() {
+        generation++;
+    }
+
+    private static record Key(Item item, @Nullable CompoundTag tag, boolean advanced, String lang) {}
+
+    public static class Entry {
+
+        protected List<Component> affixLines;
+        protected TooltipComponent socketComponent;
+
+        protected List<Component> attributeLines;
+        protected int attributePlayer, attributeModCount;
+        protected boolean attributeShift;
+
+        /**
+         * @return Copies of the cached affix lines, computing them if necessary.
+         */
+        public List<Component> getAffixLines(ItemStack stack, Function<ItemStack, List<Component>> factory) {
+            if (this.affixLines == null) this.affixLines = List.copyOf(factory.apply(stack));
+            return copyLines(this.affixLines);
+        }
+
+        /**
+         * Callers must not use this for stacks whose socket count is dynamic, since the component would be frozen at the first count seen.
+         */
+        public TooltipComponent getSocketComponent(ItemStack stack, Function<ItemStack, TooltipComponent> factory) {
+            if (this.socketComponent == null) this.socketComponent = factory.apply(stack);
+            return this.socketComponent;
+        }
+
+        /**
+         * Attribute lines also depend on the viewing player's base attribute values and if shift is held, so they are only valid for the context they were built in.
+         *
+         * @return Copies of the cached attribute lines, or null if they have not been computed for the current context.
+         */
+        @Nullable
+        public List<Component> getAttributeLines(@Nullable Player player, boolean shift) {
+            if (this.attributeLines == null) return null;
+            if (this.attributePlayer != playerId(player) || this.attributeModCount != modCount(player) || this.attributeShift != shift) return null;
+            return copyLines(this.attributeLines);
+        }
+
+        /**
+         * Stores copies of the given lines, since the originals remain in the live tooltip.
+         */
+        public void setAttributeLines(@Nullable Player player, boolean shift, List<Component> lines) {
+            this.attributeLines = List.copyOf(copyLines(lines));
+            this.attributePlayer = playerId(player);
+            this.attributeModCount = modCount(player);
+            this.attributeShift = shift;
+        }
+
+        /**
+         * Lines are inserted into the live tooltip, where later listeners may modify them, so the cached components are never handed out directly.
+         */
+        private static List<Component> copyLines(List<Component> lines) {
+            List<Component> copy = new ArrayList<>(lines.size());
+            for (Component c : lines) {
+                copy.add(c.copy());
+            }
+            return copy;
+        }
+
+        private static int playerId(@Nullable Player player) {
+            return player == null ? -1 : player.getId();
+        }
+
+        private static int modCount(@Nullable Player player) {
+            return player == null ? 0 : ModCountedAttributeMap.getModCount(player);
+        }
+    }
+
+}
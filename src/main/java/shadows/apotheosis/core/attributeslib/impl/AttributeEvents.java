@@ -50,8 +50,10 @@ import shadows.apotheosis.core.attributeslib.AttributesLib;
 import shadows.apotheosis.core.attributeslib.api.ALAttributes;
 import shadows.apotheosis.core.attributeslib.api.AttributeHelper;
 import shadows.apotheosis.core.attributeslib.api.IFormattableAttribute;
+import shadows.apotheosis.core.attributeslib.asm.ALCombatRules;
 import shadows.apotheosis.core.attributeslib.packet.CritParticleMessage;
 import shadows.apotheosis.core.attributeslib.util.AttributesUtil;
+import shadows.apotheosis.core.attributeslib.util.CombatSnapshot;
 import shadows.placebo.network.PacketDistro;
 
 public class AttributeEvents {
@@ -109,30 +111,45 @@ public class AttributeEvents {
     }
 
     /**
-     * This event handler manages the Life Steal and Overheal attributes.
+     * This event handler manages the Life Steal and Overheal attributes.<br>
+     * It also applies composite melee bonus damage afterwards, so that the bonus is not counted for life steal, and a deterministic order is kept between the two.
      */
-    @SubscribeEvent(priority = EventPriority.LOWEST)
+    @SubscribeEvent(priority = EventPriority.LOWEST, receiveCanceled = true)
     public void lifeStealOverheal(LivingHurtEvent e) {
+        boolean server = !e.getEntity().level.isClientSide;
+        if (e.isCanceled()) {
+            if (server) pendingBonus.clearIfMatches(e);
+            return;
+        }
         if (e.getSource().getDirectEntity() instanceof LivingEntity attacker && AttributesUtil.isPhysicalDamage(e.getSource())) {
-            float lifesteal = (float) attacker.getAttributeValue(ALAttributes.LIFE_STEAL.get());
+            CombatSnapshot stats = CombatSnapshot.of(attacker);
+            float lifesteal = stats.lifeSteal;
             float dmg = Math.min(e.getAmount(), e.getEntity().getHealth());
             if (lifesteal > 0.001) {
                 attacker.heal(dmg * lifesteal);
             }
-            float overheal = (float) attacker.getAttributeValue(ALAttributes.OVERHEAL.get());
+            float overheal = stats.overheal;
             float maxOverheal = attacker.getMaxHealth() * 0.5F;
             if (overheal > 0 && attacker.getAbsorptionAmount() < maxOverheal) {
                 attacker.setAbsorptionAmount(Math.min(maxOverheal, attacker.getAbsorptionAmount() + dmg * overheal));
             }
         }
+        if (server) this.compositeMeleeDamage(e);
     }
 
     /**
      * Recursion guard for {@link #meleeDamageAttributes(LivingAttackEvent)}.<br>
-     * Doesn't need to be ThreadLocal as attack logic is main-thread only.
+     * Only accessed on the logical server, so it doesn't need to be ThreadLocal.
      */
     private static boolean noRecurse = false;
 
+    /**
+     * Bonus damage computed for the current melee attack, which is added to the primary hit by {@link #compositeMeleeDamage(LivingHurtEvent)}.<br>
+     * Reused between attacks, and only valid while the target and source match the hit being resolved.<br>
+     * Cleared at the start of every melee attack, so a hit that never reaches the hurt event (shield block, invulnerability frames) does not keep its entities alive.
+     */
+    private static final PendingBonus pendingBonus = new PendingBonus();
+
     /**
      * Applies the following melee damage attributes:<br>
      * <ul>
@@ -140,17 +157,26 @@ public class AttributeEvents {
      * <li>{@link ALAttributes#FIRE_DAMAGE}</li>
      * <li>{@link ALAttributes#COLD_DAMAGE}</li>
      * </ul>
+     * When {@link AttributesLib#compositeMeleeDamage} is enabled, the bonus damage is recorded here and merged into the primary hit.<br>
+     * Otherwise, each bonus is dealt as a separate hit.
      */
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void meleeDamageAttributes(LivingAttackEvent e) {
         if (e.getEntity().level.isClientSide) return;
+        pendingBonus.clear();
         if (noRecurse) return;
         noRecurse = true;
         if (e.getSource().getDirectEntity() instanceof LivingEntity attacker && AttributesUtil.isPhysicalDamage(e.getSource())) {
-            float hpDmg = (float) attacker.getAttributeValue(ALAttributes.CURRENT_HP_DAMAGE.get());
-            float fireDmg = (float) attacker.getAttributeValue(ALAttributes.FIRE_DAMAGE.get());
-            float coldDmg = (float) attacker.getAttributeValue(ALAttributes.COLD_DAMAGE.get());
+            CombatSnapshot stats = CombatSnapshot.of(attacker);
+            float hpDmg = stats.currentHpDamage;
+            float fireDmg = stats.fireDamage;
+            float coldDmg = stats.coldDamage;
             LivingEntity target = e.getEntity();
+            if (AttributesLib.compositeMeleeDamage) {
+                pendingBonus.prepare(attacker, target, e.getSource(), hpDmg, fireDmg, coldDmg);
+                noRecurse = false;
+                return;
+            }
             int time = target.invulnerableTime;
             target.invulnerableTime = 0;
             float localAtkStrength = Apotheosis.getLocalAtkStrength(attacker);
@@ -172,6 +198,47 @@ public class AttributeEvents {
         noRecurse = false;
     }
 
+    /**
+     * Resolves the bonus damage recorded by {@link #meleeDamageAttributes(LivingAttackEvent)} and adds it to the primary hit.<br>
+     * This runs before armor, protection and absorption are applied, so the bonus goes through the same damage reduction as the primary hit.
+     * Elemental damage ignores armor, so it is scaled up by the armor reduction the combined hit will receive.
+     * <p>
+     * Called from {@link #lifeStealOverheal(LivingHurtEvent)} on the logical server, after life steal has been computed.
+     */
+    private void compositeMeleeDamage(LivingHurtEvent e) {
+        PendingBonus p = pendingBonus;
+        if (!p.matches(e)) return;
+        LivingEntity target = p.target;
+        float hpDmg = p.hpDmg, elementalDmg = p.fireDmg + p.coldDmg;
+        float fireAttr = p.fireDmg > 0 ? p.fireAttr : 0, coldAttr = p.coldDmg > 0 ? p.coldAttr : 0;
+        p.clear();
+
+        // A hit that was fully blocked or zeroed does not carry its bonus damage.
+        if (e.getAmount() <= 0) return;
+
+        float amount = e.getAmount() + hpDmg;
+        if (elementalDmg > 0) {
+            amount += elementalDmg / getArmorMultiplier(target, e.getSource(), amount + elementalDmg);
+        }
+        e.setAmount(amount);
+
+        if (fireAttr > 0) {
+            target.setRemainingFireTicks(target.getRemainingFireTicks() + (int) (10 * fireAttr));
+        }
+        if (coldAttr > 0) {
+            target.addEffect(new MobEffectInstance(MobEffects.MOVEMENT_SLOWDOWN, (int) (15 * coldAttr), Mth.floor(coldAttr / 5)));
+        }
+    }
+
+    /**
+     * Computes the fraction of the given damage that would remain after the target's armor, without applying any side effects.
+     */
+    private static float getArmorMultiplier(LivingEntity target, DamageSource src, float amount) {
+        if (src.isBypassArmor() || amount <= 0) return 1;
+        float after = ALCombatRules.getDamageAfterArmor(target, src, amount, target.getArmorValue(), (float) target.getAttributeValue(Attributes.ARMOR_TOUGHNESS));
+        return after > 0 ? after / amount : 1;
+    }
+
     private static DamageSource src(LivingEntity entity) {
         return entity instanceof Player p ? DamageSource.playerAttack(p) : DamageSource.mobAttack(entity);
     }
@@ -184,8 +251,9 @@ public class AttributeEvents {
         LivingEntity attacker = e.getSource().getEntity() instanceof LivingEntity le ? le : null;
         if (attacker == null) return;
 
-        double critChance = attacker.getAttributeValue(ALAttributes.CRIT_CHANCE.get());
-        float critDmg = (float) attacker.getAttributeValue(ALAttributes.CRIT_DAMAGE.get());
+        CombatSnapshot stats = CombatSnapshot.of(attacker);
+        double critChance = stats.critChance;
+        float critDmg = stats.critDamage;
 
         RandomSource rand = e.getEntity().random;
 
@@ -211,8 +279,8 @@ public class AttributeEvents {
      */
     @SubscribeEvent(priority = EventPriority.HIGH)
     public void vanillaCritDmg(CriticalHitEvent e) {
-        float critDmg = (float) e.getEntity().getAttributeValue(ALAttributes.CRIT_DAMAGE.get());
         if (e.isVanillaCritical()) {
+            float critDmg = CombatSnapshot.of(e.getEntity()).critDamage;
             e.setDamageModifier(Math.max(e.getDamageModifier(), critDmg));
         }
     }
@@ -289,7 +357,7 @@ public class AttributeEvents {
         if (target.level.isClientSide) return;
         Entity attacker = e.getSource().getDirectEntity();
         if (attacker instanceof LivingEntity) {
-            double dodgeChance = target.getAttributeValue(ALAttributes.DODGE_CHANCE.get());
+            double dodgeChance = CombatSnapshot.of(target).dodgeChance;
             double atkRangeSqr = attacker instanceof Player p ? p.getAttackRange() * p.getAttackRange() : getAttackReachSqr(attacker, target);
             dodgeRand.setSeed(target.tickCount);
             if (attacker.distanceToSqr(target) <= atkRangeSqr && dodgeRand.nextFloat() <= dodgeChance) {
@@ -306,7 +374,7 @@ public class AttributeEvents {
     public void dodge(ProjectileImpactEvent e) {
         Entity target = e.getRayTraceResult() instanceof EntityHitResult entRes ? entRes.getEntity() : null;
         if (target instanceof LivingEntity lvTarget) {
-            double dodgeChance = lvTarget.getAttributeValue(ALAttributes.DODGE_CHANCE.get());
+            double dodgeChance = CombatSnapshot.of(lvTarget).dodgeChance;
             // We can skip the distance check for projectiles, as "Projectile Impact" means the projectile is on the target.
             dodgeRand.setSeed(target.tickCount);
             if (dodgeRand.nextFloat() <= dodgeChance) {
@@ -355,4 +423,48 @@ public class AttributeEvents {
             }
         }
     }
+
+    /**
+     * Mutable holder for the bonus damage of the melee attack currently being resolved.<br>
+     * Only accessed on the logical server. In singleplayer, the client thread also fires attack events, so client-side handlers must never touch this.<br>
+     * It does not need to be ThreadLocal, as server-side attack logic only runs on the server thread.
+     */
+    private static class PendingBonus {
+
+        private LivingEntity target;
+        private DamageSource source;
+        private float hpDmg, fireDmg, coldDmg;
+        private float fireAttr, coldAttr;
+
+        /**
+         * Records the bonus damage for an attack, applying the same attack strength thresholds as the separate-hit mode.
+         */
+        private void prepare(LivingEntity attacker, LivingEntity target, DamageSource source, float hpAttr, float fireAttr, float coldAttr) {
+            float localAtkStrength = Apotheosis.getLocalAtkStrength(attacker);
+            this.hpDmg = hpAttr > 0.001 && localAtkStrength >= 0.85F ? localAtkStrength * hpAttr * target.getHealth() : 0;
+            this.fireDmg = fireAttr > 0.001 && localAtkStrength >= 0.55F ? localAtkStrength * fireAttr : 0;
+            this.coldDmg = coldAttr > 0.001 && localAtkStrength >= 0.55F ? localAtkStrength * coldAttr : 0;
+            if (this.hpDmg <= 0 && this.fireDmg <= 0 && this.coldDmg <= 0) {
+                this.clear();
+                return;
+            }
+            this.target = target;
+            this.source = source;
+            this.fireAttr = fireAttr;
+            this.coldAttr = coldAttr;
+        }
+
+        private boolean matches(LivingHurtEvent e) {
+            return this.target == e.getEntity() && this.source == e.getSource();
+        }
+
+        private void clearIfMatches(LivingHurtEvent e) {
+            if (this.matches(e)) this.clear();
+        }
+
+        private void clear() {
+            this.target = null;
+            this.source = null;
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package shadows.apotheosis.core.attributeslib.util;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.AttributeMap;
+import shadows.apotheosis.core.attributeslib.api.ALAttributes;
+
+/**
+ * An immutable view of the combat-related {@link ALAttributes} of a single entity.<br>
+ * A single hit runs several handlers which each read a few of these attributes from both the attacker and the target.
+ * Snapshots are cached on the entity's {@link AttributeMap} so each entity only resolves them once per tick.
+ * <p>
+ * A cached snapshot is discarded when the entity ticks, or when any attribute in its map is modified.
+ */
+public final class CombatSnapshot {
+
+    public final int tick, modCount;
+
+    public final double critChance;
+    public final float critDamage;
+    public final float coldDamage;
+    public final float fireDamage;
+    public final float currentHpDamage;
+    public final float lifeSteal;
+    public final float overheal;
+    public final float armorPierce;
+    public final float armorShred;
+    public final float protPierce;
+    public final float protShred;
+    public final double dodgeChance;
+
+    private CombatSnapshot(LivingEntity entity, int modCount) {
+        AttributeMap map = entity.getAttributes();
+        this.tick = entity.tickCount;
+        this.modCount = modCount;
+        this.critChance = map.getValue(ALAttributes.CRIT_CHANCE.get());
+        this.critDamage = (float) map.getValue(ALAttributes.CRIT_DAMAGE.get());
+        this.coldDamage = (float) map.getValue(ALAttributes.COLD_DAMAGE.get());
+        this.fireDamage = (float) map.getValue(ALAttributes.FIRE_DAMAGE.get());
+        this.currentHpDamage = (float) map.getValue(ALAttributes.CURRENT_HP_DAMAGE.get());
+        this.lifeSteal = (float) map.getValue(ALAttributes.LIFE_STEAL.get());
+        this.overheal = (float) map.getValue(ALAttributes.OVERHEAL.get());
+        this.armorPierce = (float) map.getValue(ALAttributes.ARMOR_PIERCE.get());
+        this.armorShred = (float) map.getValue(ALAttributes.ARMOR_SHRED.get());
+        this.protPierce = (float) map.getValue(ALAttributes.PROT_PIERCE.get());
+        this.protShred = (float) map.getValue(ALAttributes.PROT_SHRED.get());
+        this.dodgeChance = map.getValue(ALAttributes.DODGE_CHANCE.get());
+    }
+
+    /**
+     * Retrieves the combat snapshot for the given entity, building a new one if the cached snapshot is out of date.
+     */
+    public static CombatSnapshot of(LivingEntity entity) {
+        Holder holder = (Holder) entity.getAttributes();
+        int modCount = holder.apoth_getModCount();
+        CombatSnapshot snap = holder.apoth_getCombatSnapshot();
+        if (snap == null || snap.tick != entity.tickCount || snap.modCount != modCount) {
+            snap = new CombatSnapshot(entity, modCount);
+            holder.apoth_setCombatSnapshot(snap);
+        }
+        return snap;
+    }
+
+    /**
+     * Implemented on {@link AttributeMap} via mixin, to store the cached snapshot.
+     */
+    public static interface Holder extends ModCountedAttributeMap {
+
+        @Nullable
+        CombatSnapshot apoth_getCombatSnapshot();
+
+        void apoth_setCombatSnapshot(CombatSnapshot snapshot);
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package shadows.apotheosis.core.attributeslib.util;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.AttributeMap;
+
+/**
+ * Implemented on {@link AttributeMap} via mixin.<br>
+ * The modification count is incremented whenever any attribute instance in the map is marked dirty,
+ * so it can be used to detect that any value derived from the map is out of date.
+ */
+public interface ModCountedAttributeMap {
+
+    int apoth_getModCount();
+
+    /**
+     * @return The modification count of the entity's attribute map.
+     */
+    public static int getModCount(LivingEntity entity) {
+        return ((ModCountedAttributeMap) entity.getAttributes()).apoth_getModCount();
+    }
+
+}
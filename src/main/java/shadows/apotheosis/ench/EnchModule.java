@@ -108,6 +108,7 @@ import shadows.apotheosis.ench.table.ApothEnchantmentMenu;
 import shadows.apotheosis.ench.table.ApothEnchantTile;
 import shadows.apotheosis.ench.table.EnchantingRecipe;
 import shadows.apotheosis.ench.table.EnchantingStatManager;
+import shadows.apotheosis.ench.table.EnchantmentPowerIndex;
 import shadows.apotheosis.ench.table.KeepNBTEnchantingRecipe;
 import shadows.apotheosis.util.ApothMiscUtil;
 import shadows.placebo.color.GradientColor;
@@ -486,6 +487,7 @@ public class EnchModule {
                     LOGGER.warn("Enchantment {} has min/max power {}/{} at level {}, making this level unobtainable.", ForgeRegistries.ENCHANTMENTS.getKey(ench), info.getMinPower(i), info.getMaxPower(i), i);
         }
 
+        EnchantmentPowerIndex.invalidate();
         if (e == null && enchInfoConfig.hasChanged()) enchInfoConfig.save();
         EnchConfig.load(new Configuration(new File(Apotheosis.configDir, "ench.cfg")));
     }
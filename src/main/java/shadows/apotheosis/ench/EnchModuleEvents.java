@@ -23,6 +23,7 @@ import net.minecraftforge.event.entity.player.AnvilRepairEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import shadows.apotheosis.Apoth;
@@ -30,6 +31,7 @@ import shadows.apotheosis.ench.anvil.AnvilTile;
 import shadows.apotheosis.ench.objects.ExtractionTomeItem;
 import shadows.apotheosis.ench.objects.ImprovedScrappingTomeItem;
 import shadows.apotheosis.ench.objects.ScrappingTomeItem;
+import shadows.apotheosis.ench.table.ApothEnchantTile;
 
 public class EnchModuleEvents {
 
@@ -73,6 +75,19 @@ public class EnchModuleEvents {
         if (ExtractionTomeItem.updateRepair(e)) return;
     }
 
+    /**
+     * Invalidates cached enchanting table stats when a block in a table's shelf volume changes.
+     */
+    @SubscribeEvent
+    public void shelfChanged(BlockEvent.NeighborNotifyEvent e) {
+        ApothEnchantTile.onBlockChanged(e.getLevel(), e.getPos());
+    }
+
+    @SubscribeEvent
+    public void unload(LevelEvent.Unload e) {
+        ApothEnchantTile.unloadLevel(e.getLevel());
+    }
+
     /**
      * Event handler for the Scavenger and Spearfishing enchantments.
      */
@@ -1,6 +1,7 @@
 package shadows.apotheosis.ench;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraftforge.registries.ForgeRegistries;
@@ -70,8 +71,8 @@ public class EnchantmentInfo {
         int maxLoot = cfg.getInt("Max Loot Level", category, ench.getMaxLevel(), 1, 127, "The max level of this enchantment available from loot sources.");
         String maxF = cfg.getString("Max Power Function", category, "", "A function to determine the max enchanting power.  The variable \"x\" is level.  See: https://github.com/uklimaschewski/EvalEx#usage-examples");
         String minF = cfg.getString("Min Power Function", category, "", "A function to determine the min enchanting power.");
-        PowerFunc maxPower = maxF.isEmpty() ? defaultMax(ench) : new ExpressionPowerFunc(maxF);
-        PowerFunc minPower = minF.isEmpty() ? defaultMin(ench) : new ExpressionPowerFunc(minF);
+        PowerFunc maxPower = maxF.isEmpty() ? defaultMax(ench) : new ExpressionPowerFunc(maxF, max);
+        PowerFunc minPower = minF.isEmpty() ? defaultMin(ench) : new ExpressionPowerFunc(minF, max);
         boolean treasure = cfg.getBoolean("Treasure", category, ench.isTreasureOnly(), "If this enchantment is only available by loot sources.");
         boolean discoverable = cfg.getBoolean("Discoverable", category, ench.isDiscoverable(), "If this enchantment is obtainable via enchanting and enchanted loot items.");
         boolean lootable = cfg.getBoolean("Lootable", category, ench.isDiscoverable(), "If enchanted books of this enchantment are available via loot sources.");
@@ -95,16 +96,73 @@ public class EnchantmentInfo {
         int getPower(int level);
     }
 
+    /**
+     * A {@link PowerFunc} backed by an EvalEx expression.<br>
+     * Evaluating the expression is slow (BigDecimal arithmetic) and not thread-safe (the variable is stored on the expression),
+     * so the results are precomputed into a lookup table covering levels 1 through the max level.
+     * Levels beyond the table are evaluated on demand, and the table is grown to cover them.
+     */
     public static class ExpressionPowerFunc implements PowerFunc {
 
-        Expression ex;
+        /**
+         * Levels above this are never cached, to avoid allocating absurdly large tables for nonsensical inputs.
+         */
+        protected static final int MAX_CACHED_LEVEL = 1024;
 
-        public ExpressionPowerFunc(String func) {
+        protected final Expression ex;
+        protected volatile int[] table;
+
+        public ExpressionPowerFunc(String func, int maxLevel) {
             this.ex = new Expression(func);
+            this.table = this.compute(new int[0], Math.min(MAX_CACHED_LEVEL, maxLevel));
+        }
+
+        public ExpressionPowerFunc(String func) {
+            this(func, 127);
         }
 
         @Override
         public int getPower(int level) {
+            int[] table = this.table;
+            if (level > 0 && level < table.length) return table[level];
+            synchronized (this.ex) {
+                if (level <= 0 || level > MAX_CACHED_LEVEL) return this.eval(level);
+                try {
+                    return this.grow(level)[level];
+                }
+                catch (RuntimeException e) {
+                    // The expression may not be valid for some of the levels between the table and the requested level.
+                    return this.eval(level);
+                }
+            }
+        }
+
+        /**
+         * Extends the table up to the given level. Must be called while holding the lock on {@link #ex}, so concurrent growers will see the updated table.
+         */
+        protected int[] grow(int level) {
+            int[] table = this.table;
+            if (level < table.length) return table;
+            return this.table = this.compute(table, level);
+        }
+
+        /**
+         * Copies the existing table and evaluates all levels after it, up to and including {@code maxLevel}. Index zero is never populated.
+         */
+        protected int[] compute(int[] existing, int maxLevel) {
+            synchronized (this.ex) {
+                int[] table = Arrays.copyOf(existing, maxLevel + 1);
+                for (int i = Math.max(1, existing.length); i <= maxLevel; i++) {
+                    table[i] = this.eval(i);
+                }
+                return table;
+            }
+        }
+
+        /**
+         * Evaluates the expression directly. Must be called while holding the lock on {@link #ex}.
+         */
+        protected int eval(int level) {
             return this.ex.setVariable("x", new BigDecimal(level)).eval().intValue();
         }
 
@@ -56,13 +56,13 @@ public class BerserkersFuryEnchant extends Enchantment {
         if (e.getSource().getEntity() instanceof Entity && user.getEffect(MobEffects.DAMAGE_RESISTANCE) == null) {
             int level = EnchantmentHelper.getEnchantmentLevel(this, user);
             if (level > 0) {
-                if (Affix.isOnCooldown(Registry.ENCHANTMENT.getKey(this), 900, user)) return;
+                if (Affix.isOnCooldown(Registry.ENCHANTMENT.getKey(this), user)) return;
                 user.invulnerableTime = 0;
                 user.hurt(Apotheosis.CORRUPTED, (float) Math.pow(2.5, level));
                 user.addEffect(new MobEffectInstance(MobEffects.DAMAGE_RESISTANCE, 500, level - 1));
                 user.addEffect(new MobEffectInstance(MobEffects.DAMAGE_BOOST, 500, level - 1));
                 user.addEffect(new MobEffectInstance(MobEffects.MOVEMENT_SPEED, 500, level - 1));
-                Affix.startCooldown(Registry.ENCHANTMENT.getKey(this), user);
+                Affix.startCooldown(Registry.ENCHANTMENT.getKey(this), 900, user);
             }
         }
     }
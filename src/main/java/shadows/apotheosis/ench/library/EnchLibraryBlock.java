@@ -6,6 +6,7 @@ import java.util.List;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -18,7 +19,6 @@ import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.HorizontalDirectionalBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType.BlockEntitySupplier;
@@ -33,10 +33,11 @@ import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
+import shadows.placebo.block_entity.TickingEntityBlock;
 import shadows.placebo.container.ContainerUtil;
 import shadows.placebo.container.SimplerMenuProvider;
 
-public class EnchLibraryBlock extends HorizontalDirectionalBlock implements EntityBlock {
+public class EnchLibraryBlock extends HorizontalDirectionalBlock implements TickingEntityBlock {
 
     public static final Component NAME = Component.translatable("apotheosis.ench.library");
 
@@ -103,7 +104,10 @@ public class EnchLibraryBlock extends HorizontalDirectionalBlock implements Enti
     public void appendHoverText(ItemStack stack, BlockGetter world, List<Component> list, TooltipFlag advanced) {
         list.add(Component.translatable("tooltip.enchlib.capacity", Component.translatable("enchantment.level." + this.maxLevel)).withStyle(ChatFormatting.GOLD));
         CompoundTag tag = stack.getTagElement("BlockEntityTag");
-        if (tag != null && tag.contains("Points")) {
+        if (tag != null && tag.contains("Library")) {
+            list.add(Component.translatable("tooltip.enchlib.item", tag.getCompound("Library").getList("Keys", Tag.TAG_STRING).size()).withStyle(ChatFormatting.GOLD));
+        }
+        else if (tag != null && tag.contains("Points")) {
             list.add(Component.translatable("tooltip.enchlib.item", tag.getCompound("Points").size()).withStyle(ChatFormatting.GOLD));
         }
     }
@@ -2,7 +2,6 @@ package shadows.apotheosis.ench.library;
 
 import java.util.List;
 
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -102,19 +101,23 @@ public class EnchLibraryContainer extends BlockEntityContainer<EnchLibraryTile>
     }
 
     public int getNumStoredEnchants() {
-        return (int) this.tile.getPointsMap().values().intStream().filter(s -> s > 0).count();
+        return this.tile.getNumStored();
     }
 
-    public List<Object2IntMap.Entry<Enchantment>> getPointsForDisplay() {
-        return this.tile.getPointsMap().object2IntEntrySet().stream().filter(s -> s.getIntValue() > 0).toList();
+    public List<Enchantment> getStoredEnchants() {
+        return this.tile.getStoredEnchants();
+    }
+
+    public long getPoints(Enchantment enchant) {
+        return this.tile.getPoints(enchant);
     }
 
     public int getMaxLevel(Enchantment enchant) {
         return this.tile.getMax(enchant);
     }
 
-    public int getPointCap() {
-        return this.tile.maxPoints;
+    public long getPointCap() {
+        return this.tile.getMaxPoints();
     }
 
     public void setNotifier(Runnable r) {
@@ -132,7 +135,7 @@ public class EnchLibraryContainer extends BlockEntityContainer<EnchLibraryTile>
         Enchantment ench = ((ForgeRegistry<Enchantment>) ForgeRegistries.ENCHANTMENTS).getValue(id);
         ItemStack outSlot = this.ioInv.getItem(1);
         int curLvl = EnchantmentHelper.getEnchantments(outSlot).getOrDefault(ench, 0);
-        int targetLevel = shift ? Math.min(this.tile.getMax(ench), 1 + (int) (Math.log(this.tile.getPointsMap().getInt(ench) + EnchLibraryTile.levelToPoints(curLvl)) / Math.log(2))) : curLvl + 1;
+        int targetLevel = shift ? Math.min(this.tile.getMax(ench), 1 + (int) (Math.log(this.tile.getPoints(ench) + EnchLibraryTile.levelToPoints(curLvl)) / Math.log(2))) : curLvl + 1;
         if (!this.tile.canExtract(ench, targetLevel, curLvl)) return;
         if (outSlot.isEmpty()) outSlot = new ItemStack(Items.ENCHANTED_BOOK);
         this.tile.extractEnchant(outSlot, ench, targetLevel);
@@ -20,7 +20,6 @@ import com.mojang.blaze3d.platform.InputConstants;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
 
-import it.unimi.dsi.fastutil.objects.Object2IntMap.Entry;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.screens.Screen;
@@ -118,7 +117,7 @@ public class EnchLibraryScreen extends AbstractContainerScreen<EnchLibraryContai
             boolean shift = Screen.hasShiftDown();
             int targetLevel = shift ? Math.min(libSlot.maxLvl, 1 + (int) (Math.log(libSlot.points + EnchLibraryTile.levelToPoints(current)) / Math.log(2))) : current + 1;
             if (targetLevel == current) targetLevel++;
-            int cost = EnchLibraryTile.levelToPoints(targetLevel) - EnchLibraryTile.levelToPoints(current);
+            long cost = EnchLibraryTile.levelToPoints(targetLevel) - EnchLibraryTile.levelToPoints(current);
             if (targetLevel > libSlot.maxLvl) list.add(Component.translatable("tooltip.enchlib.unavailable").setStyle(Style.EMPTY.withColor(ChatFormatting.RED)));
             else {
                 list.add(Component.translatable("tooltip.enchlib.extracting", Component.translatable("enchantment.level." + targetLevel)).withStyle(ChatFormatting.BLUE));
@@ -227,9 +226,9 @@ public class EnchLibraryScreen extends AbstractContainerScreen<EnchLibraryContai
 
     private void containerChanged() {
         this.data.clear();
-        List<Entry<Enchantment>> entries = this.filter(this.menu.getPointsForDisplay());
-        for (Entry<Enchantment> e : entries) {
-            this.data.add(new LibrarySlot(e.getKey(), e.getIntValue(), this.menu.getMaxLevel(e.getKey())));
+        List<Enchantment> entries = this.filter(this.menu.getStoredEnchants());
+        for (Enchantment e : entries) {
+            this.data.add(new LibrarySlot(e, this.menu.getPoints(e), this.menu.getMaxLevel(e)));
         }
 
         if (!this.isScrollBarActive()) {
@@ -239,17 +238,17 @@ public class EnchLibraryScreen extends AbstractContainerScreen<EnchLibraryContai
         Collections.sort(this.data, (a, b) -> I18n.get(a.ench.getDescriptionId()).compareTo(I18n.get(b.ench.getDescriptionId())));
     }
 
-    private List<Entry<Enchantment>> filter(List<Entry<Enchantment>> list) {
+    private List<Enchantment> filter(List<Enchantment> list) {
         return list.stream().filter(this::isAllowedByItem).filter(this::isAllowedBySearch).toList();
     }
 
-    private boolean isAllowedByItem(Entry<Enchantment> e) {
+    private boolean isAllowedByItem(Enchantment e) {
         ItemStack stack = this.menu.ioInv.getItem(2);
-        return stack.isEmpty() || e.getKey().canEnchant(stack);
+        return stack.isEmpty() || e.canEnchant(stack);
     }
 
-    private boolean isAllowedBySearch(Entry<Enchantment> e) {
-        String name = I18n.get(e.getKey().getDescriptionId()).toLowerCase(Locale.ROOT);
+    private boolean isAllowedBySearch(Enchantment e) {
+        String name = I18n.get(e.getDescriptionId()).toLowerCase(Locale.ROOT);
         String search = this.filter == null ? "" : this.filter.getValue().trim().toLowerCase(Locale.ROOT);
         return Strings.isNullOrEmpty(search) || ChatFormatting.stripFormatting(name).contains(search);
     }
@@ -264,11 +263,11 @@ public class EnchLibraryScreen extends AbstractContainerScreen<EnchLibraryContai
         return null;
     }
 
-    private static record LibrarySlot(Enchantment ench, int points, int maxLvl) {}
+    private static record LibrarySlot(Enchantment ench, long points, int maxLvl) {}
 
     private static DecimalFormat f = new DecimalFormat("##.#");
 
-    public static String format(int n) {
+    public static String format(long n) {
         int log = (int) StrictMath.log10(n);
         if (log <= 4) return String.valueOf(n);
         if (log == 5) return f.format(n / 1000D) + "K";
@@ -1,21 +1,37 @@
 package shadows.apotheosis.ench.library;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.Registry;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.EnchantedBookItem;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -25,16 +41,30 @@ import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.registries.ForgeRegistries;
 import shadows.apotheosis.Apoth;
-import shadows.placebo.recipe.VanillaPacketDispatcher;
+import shadows.apotheosis.Apotheosis;
+import shadows.placebo.block_entity.TickingBlockEntity;
+import shadows.placebo.network.PacketDistro;
+
+public abstract class EnchLibraryTile extends BlockEntity implements TickingBlockEntity {
 
-public abstract class EnchLibraryTile extends BlockEntity {
+    /**
+     * Stored points, indexed by enchantment registry id. Grown on demand, see {@link #ensureCapacity(int)}.
+     */
+    protected long[] points = new long[0];
+
+    /**
+     * Max stored levels, indexed by enchantment registry id. Always the same length as {@link #points}.
+     */
+    protected int[] maxLevels = new int[0];
 
-    protected final Object2IntMap<Enchantment> points = new Object2IntOpenHashMap<>();
-    protected final Object2IntMap<Enchantment> maxLevels = new Object2IntOpenHashMap<>();
     protected final Set<EnchLibraryContainer> activeContainers = new HashSet<>();
+    /**
+     * Registry ids of enchantments changed since the last sync, sent to clients as a {@link LibraryDeltaMessage} at the end of the tick.
+     */
+    protected final IntSet dirty = new IntOpenHashSet();
     protected final LazyOptional<IItemHandler> itemHandler = LazyOptional.of(EnchLibItemHandler::new);
     protected final int maxLevel;
-    protected final int maxPoints;
+    protected final long maxPoints;
 
     public EnchLibraryTile(BlockEntityType<?> type, BlockPos pos, BlockState state, int maxLevel) {
         super(type, pos, state);
@@ -50,17 +80,59 @@ public abstract class EnchLibraryTile extends BlockEntity {
      * @param book An enchanted book
      */
     public void depositBook(ItemStack book) {
-        if (book.getItem() != Items.ENCHANTED_BOOK) return;
-        Map<Enchantment, Integer> enchs = EnchantmentHelper.getEnchantments(book);
-        for (Map.Entry<Enchantment, Integer> e : enchs.entrySet()) {
-            if (e.getKey() == null || e.getValue() == null) continue;
-            int newPoints = Math.min(this.maxPoints, this.points.getInt(e.getKey()) + levelToPoints(e.getValue()));
-            if (newPoints < 0) newPoints = this.maxPoints;
-            this.points.put(e.getKey(), newPoints);
-            this.maxLevels.put(e.getKey(), Math.min(this.maxLevel, Math.max(this.maxLevels.getInt(e.getKey()), e.getValue())));
+        if (this.depositInternal(book)) this.setChanged();
+    }
+
+    /**
+     * Inserts many books into this library at once. See {@link #depositBook(ItemStack)}.
+     *
+     * @param books A collection of enchanted books. Other items are ignored.
+     * @return The number of books that were deposited.
+     */
+    public int depositBooks(Collection<ItemStack> books) {
+        int count = 0;
+        for (ItemStack book : books) {
+            if (this.depositInternal(book)) count++;
         }
-        if (enchs.size() > 0) VanillaPacketDispatcher.dispatchTEToNearbyPlayers(this);
-        this.setChanged();
+        if (count > 0) this.setChanged();
+        return count;
+    }
+
+    /**
+     * Reads the enchantments directly from the book's NBT, instead of building a map through {@link EnchantmentHelper#getEnchantments}.
+     * As with that method, if an enchantment is listed more than once, only the last entry counts.
+     *
+     * @return If the book was an enchanted book.
+     */
+    protected boolean depositInternal(ItemStack book) {
+        if (book.getItem() != Items.ENCHANTED_BOOK) return false;
+        ListTag enchs = EnchantedBookItem.getEnchantments(book);
+        outer:
+        for (int i = 0; i < enchs.size(); i++) {
+            CompoundTag tag = enchs.getCompound(i);
+            ResourceLocation key = EnchantmentHelper.getEnchantmentId(tag);
+            for (int j = i + 1; j < enchs.size(); j++) {
+                if (Objects.equals(key, EnchantmentHelper.getEnchantmentId(enchs.getCompound(j)))) continue outer;
+            }
+            Enchantment ench = key == null ? null : ForgeRegistries.ENCHANTMENTS.getValue(key);
+            if (ench == null) continue;
+            this.deposit(ench, EnchantmentHelper.getEnchantmentLevel(tag));
+        }
+        return true;
+    }
+
+    /**
+     * Adds the points for a single level of an enchantment, clamped to the point cap.
+     */
+    protected void deposit(Enchantment ench, int level) {
+        int id = getId(ench);
+        if (id < 0 || level <= 0) return;
+        this.ensureCapacity(id);
+        long add = levelToPoints(level);
+        long cur = this.points[id];
+        this.points[id] = add >= this.maxPoints - cur ? this.maxPoints : cur + add;
+        this.maxLevels[id] = Math.min(this.maxLevel, Math.max(this.maxLevels[id], level));
+        this.markDirty(id);
     }
 
     /**
@@ -69,14 +141,79 @@ public abstract class EnchLibraryTile extends BlockEntity {
      * Decrements point values equal to the amount of points required to jump between the current level and the requested level.
      */
     public void extractEnchant(ItemStack stack, Enchantment ench, int level) {
-        int curLvl = EnchantmentHelper.getEnchantments(stack).getOrDefault(ench, 0);
-        if (stack.isEmpty() || !this.canExtract(ench, level, curLvl) || level == curLvl) return;
+        if (stack.isEmpty()) return;
         Map<Enchantment, Integer> enchs = EnchantmentHelper.getEnchantments(stack);
+        if (this.extractInternal(enchs, ench, level)) {
+            EnchantmentHelper.setEnchantments(enchs, stack);
+            this.setChanged();
+        }
+    }
+
+    /**
+     * Sets multiple enchantments on the provided itemstack to the requested levels at once, rewriting the stack's enchantments only once.
+     * Each enchantment is handled as in {@link #extractEnchant(ItemStack, Enchantment, int)}, and impossible requests are skipped.
+     *
+     * @return The number of enchantments that were extracted.
+     */
+    public int extractEnchants(ItemStack stack, Map<Enchantment, Integer> targets) {
+        if (stack.isEmpty()) return 0;
+        Map<Enchantment, Integer> enchs = EnchantmentHelper.getEnchantments(stack);
+        int count = 0;
+        for (Map.Entry<Enchantment, Integer> e : targets.entrySet()) {
+            if (this.extractInternal(enchs, e.getKey(), e.getValue())) count++;
+        }
+        if (count > 0) {
+            EnchantmentHelper.setEnchantments(enchs, stack);
+            this.setChanged();
+        }
+        return count;
+    }
+
+    /**
+     * Updates the enchantment map and the stored points for a single extraction.
+     *
+     * @return If the extraction happened.
+     */
+    protected boolean extractInternal(Map<Enchantment, Integer> enchs, Enchantment ench, int level) {
+        int curLvl = enchs.getOrDefault(ench, 0);
+        if (!this.canExtract(ench, level, curLvl) || level == curLvl) return false;
+        int id = getId(ench);
+        if (id < 0 || id >= this.points.length) return false; // Never stored, canExtract should already have rejected it.
         enchs.put(ench, level);
-        EnchantmentHelper.setEnchantments(enchs, stack);
-        this.points.put(ench, Math.max(0, this.points.getInt(ench) - levelToPoints(level) + levelToPoints(curLvl))); // Safety, should never be below zero anyway.
-        if (!this.level.isClientSide()) VanillaPacketDispatcher.dispatchTEToNearbyPlayers(this);
-        this.setChanged();
+        this.points[id] = Math.max(0, this.points[id] - levelToPoints(level) + levelToPoints(curLvl)); // Safety, should never be below zero anyway.
+        this.markDirty(id);
+        return true;
+    }
+
+    /**
+     * Flags an enchantment for syncing to clients. Server-side only.
+     */
+    protected void markDirty(int id) {
+        if (this.level != null && !this.level.isClientSide) this.dirty.add(id);
+    }
+
+    /**
+     * Sends all changes made during this tick in a single packet.
+     */
+    @Override
+    public void serverTick(Level level, BlockPos pos, BlockState state) {
+        if (this.dirty.isEmpty()) return;
+        PacketDistro.sendToTracking(Apotheosis.CHANNEL, LibraryDeltaMessage.of(this, this.dirty), (ServerLevel) level, pos);
+        this.dirty.clear();
+    }
+
+    /**
+     * Applies a delta sync from the server.
+     */
+    public void applyDelta(LibraryDeltaMessage msg) {
+        for (int i = 0; i < msg.ids.length; i++) {
+            int id = msg.ids[i];
+            if (id < 0) continue;
+            this.ensureCapacity(id);
+            this.points[id] = msg.points[i];
+            this.maxLevels[id] = msg.levels[i];
+        }
+        this.activeContainers.forEach(EnchLibraryContainer::onChanged);
     }
 
     /**
@@ -88,66 +225,98 @@ public abstract class EnchLibraryTile extends BlockEntity {
      * @return If this level of this enchantment can be extracted.
      */
     public boolean canExtract(Enchantment ench, int level, int currentLevel) {
-        return this.maxLevels.getInt(ench) >= level && this.points.getInt(ench) >= levelToPoints(level) - levelToPoints(currentLevel);
+        if (level <= 0) return false;
+        return this.getLevel(ench) >= level && this.getPoints(ench) >= levelToPoints(level) - levelToPoints(currentLevel);
     }
 
     /**
      * Converts an enchantment level into the corresponding point value.
      *
      * @param level The level to convert.
-     * @return 2^(level - 1)
+     * @return 2^(level - 1), or 0 for non-positive levels. Saturates at {@link Long#MAX_VALUE}.
      */
-    public static int levelToPoints(int level) {
-        return (int) Math.pow(2, level - 1);
+    public static long levelToPoints(int level) {
+        if (level <= 0) return 0;
+        if (level >= 64) return Long.MAX_VALUE;
+        return 1L << (level - 1);
     }
 
     @Override
     public void saveAdditional(CompoundTag tag) {
-        CompoundTag points = new CompoundTag();
-        for (Object2IntMap.Entry<Enchantment> e : this.points.object2IntEntrySet()) {
-            points.putInt(ForgeRegistries.ENCHANTMENTS.getKey(e.getKey()).toString(), e.getIntValue());
-        }
-        tag.put("Points", points);
-        CompoundTag levels = new CompoundTag();
-        for (Object2IntMap.Entry<Enchantment> e : this.maxLevels.object2IntEntrySet()) {
-            levels.putInt(ForgeRegistries.ENCHANTMENTS.getKey(e.getKey()).toString(), e.getIntValue());
-        }
-        tag.put("Levels", levels);
+        tag.put("Library", this.writeLibrary());
         super.saveAdditional(tag);
     }
 
     @Override
     public void load(CompoundTag tag) {
         super.load(tag);
-        CompoundTag points = tag.getCompound("Points");
-        for (String s : points.getAllKeys()) {
-            Enchantment ench = ForgeRegistries.ENCHANTMENTS.getValue(new ResourceLocation(s));
-            if (ench == null) continue;
-            this.points.put(ench, points.getInt(s));
-        }
-        CompoundTag levels = tag.getCompound("Levels");
-        for (String s : levels.getAllKeys()) {
-            Enchantment ench = ForgeRegistries.ENCHANTMENTS.getValue(new ResourceLocation(s));
+        this.readLibrary(tag);
+    }
+
+    /**
+     * Writes all non-empty entries as three parallel arrays: enchantment keys, points, and max levels.
+     * Registry ids are not stable across sessions, so keys are saved once per entry.
+     */
+    protected CompoundTag writeLibrary() {
+        ListTag keys = new ListTag();
+        LongArrayList pts = new LongArrayList();
+        ByteArrayList lvls = new ByteArrayList();
+        for (int id = 0; id < this.points.length; id++) {
+            if (this.points[id] == 0 && this.maxLevels[id] == 0) continue;
+            Enchantment ench = byId(id);
             if (ench == null) continue;
-            this.maxLevels.put(ench, levels.getInt(s));
+            keys.add(StringTag.valueOf(ForgeRegistries.ENCHANTMENTS.getKey(ench).toString()));
+            pts.add(this.points[id]);
+            lvls.add((byte) this.maxLevels[id]);
         }
+        CompoundTag lib = new CompoundTag();
+        lib.put("Keys", keys);
+        lib.putLongArray("Points", pts.toLongArray());
+        lib.putByteArray("Levels", lvls.toByteArray());
+        return lib;
     }
 
-    @Override
-    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
-        CompoundTag tag = pkt.getTag();
+    /**
+     * Reads the library from either the compact format, or the legacy "Points" and "Levels" compounds.
+     */
+    protected void readLibrary(CompoundTag tag) {
+        this.points = new long[0];
+        this.maxLevels = new int[0];
+        if (tag.contains("Library")) {
+            CompoundTag lib = tag.getCompound("Library");
+            ListTag keys = lib.getList("Keys", Tag.TAG_STRING);
+            long[] pts = lib.getLongArray("Points");
+            byte[] lvls = lib.getByteArray("Levels");
+            for (int i = 0; i < keys.size() && i < pts.length && i < lvls.length; i++) {
+                int id = getId(ForgeRegistries.ENCHANTMENTS.getValue(new ResourceLocation(keys.getString(i))));
+                if (id < 0) continue;
+                this.ensureCapacity(id);
+                this.points[id] = pts[i];
+                this.maxLevels[id] = lvls[i];
+            }
+            return;
+        }
+
+        // Legacy format, before the library was stored as arrays.
         CompoundTag points = tag.getCompound("Points");
         for (String s : points.getAllKeys()) {
-            Enchantment ench = ForgeRegistries.ENCHANTMENTS.getValue(new ResourceLocation(s));
-            if (ench == null) continue;
-            this.points.put(ench, points.getInt(s));
+            int id = getId(ForgeRegistries.ENCHANTMENTS.getValue(new ResourceLocation(s)));
+            if (id < 0) continue;
+            this.ensureCapacity(id);
+            this.points[id] = points.getInt(s);
         }
         CompoundTag levels = tag.getCompound("Levels");
         for (String s : levels.getAllKeys()) {
-            Enchantment ench = ForgeRegistries.ENCHANTMENTS.getValue(new ResourceLocation(s));
-            if (ench == null) continue;
-            this.maxLevels.put(ench, levels.getInt(s));
+            int id = getId(ForgeRegistries.ENCHANTMENTS.getValue(new ResourceLocation(s)));
+            if (id < 0) continue;
+            this.ensureCapacity(id);
+            this.maxLevels[id] = levels.getInt(s);
         }
+    }
+
+    @Override
+    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
+        this.readLibrary(pkt.getTag());
         this.activeContainers.forEach(EnchLibraryContainer::onChanged);
     }
 
@@ -159,25 +328,49 @@ public abstract class EnchLibraryTile extends BlockEntity {
     @Override
     public CompoundTag getUpdateTag() {
         CompoundTag tag = super.getUpdateTag();
-        CompoundTag points = new CompoundTag();
-        for (Object2IntMap.Entry<Enchantment> e : this.points.object2IntEntrySet()) {
-            points.putInt(ForgeRegistries.ENCHANTMENTS.getKey(e.getKey()).toString(), e.getIntValue());
+        tag.put("Library", this.writeLibrary());
+        return tag;
+    }
+
+    /**
+     * @return The number of enchantments with stored points.
+     */
+    public int getNumStored() {
+        int count = 0;
+        for (long p : this.points) {
+            if (p > 0) count++;
         }
-        tag.put("Points", points);
-        CompoundTag levels = new CompoundTag();
-        for (Object2IntMap.Entry<Enchantment> e : this.maxLevels.object2IntEntrySet()) {
-            levels.putInt(ForgeRegistries.ENCHANTMENTS.getKey(e.getKey()).toString(), e.getIntValue());
+        return count;
+    }
+
+    /**
+     * @return All enchantments with stored points, in registry id order.
+     */
+    public List<Enchantment> getStoredEnchants() {
+        List<Enchantment> list = new ArrayList<>();
+        for (int id = 0; id < this.points.length; id++) {
+            if (this.points[id] <= 0) continue;
+            Enchantment ench = byId(id);
+            if (ench != null) list.add(ench);
         }
-        tag.put("Levels", levels);
-        return tag;
+        return list;
     }
 
-    public Object2IntMap<Enchantment> getPointsMap() {
-        return this.points;
+    public long getPoints(Enchantment ench) {
+        int id = getId(ench);
+        return id >= 0 && id < this.points.length ? this.points[id] : 0;
     }
 
-    public Object2IntMap<Enchantment> getLevelsMap() {
-        return this.maxLevels;
+    /**
+     * @return The highest level of this enchantment that has been deposited, ignoring this library's level cap.
+     */
+    public int getLevel(Enchantment ench) {
+        int id = getId(ench);
+        return id >= 0 && id < this.maxLevels.length ? this.maxLevels[id] : 0;
+    }
+
+    public long getMaxPoints() {
+        return this.maxPoints;
     }
 
     public void addListener(EnchLibraryContainer ctr) {
@@ -189,7 +382,28 @@ public abstract class EnchLibraryTile extends BlockEntity {
     }
 
     public int getMax(Enchantment ench) {
-        return Math.min(this.maxLevel, this.maxLevels.getInt(ench));
+        return Math.min(this.maxLevel, this.getLevel(ench));
+    }
+
+    /**
+     * Grows the backing arrays so that the given id is a valid index.
+     */
+    protected void ensureCapacity(int id) {
+        if (id < this.points.length) return;
+        int size = Math.max(id + 1, Math.max(16, this.points.length * 2));
+        this.points = Arrays.copyOf(this.points, size);
+        this.maxLevels = Arrays.copyOf(this.maxLevels, size);
+    }
+
+    @SuppressWarnings("deprecation")
+    protected static int getId(@Nullable Enchantment ench) {
+        return ench == null ? -1 : Registry.ENCHANTMENT.getId(ench);
+    }
+
+    @Nullable
+    @SuppressWarnings("deprecation")
+    protected static Enchantment byId(int id) {
+        return Registry.ENCHANTMENT.byId(id);
     }
 
     @Override
@@ -0,0 +1,85 @@
+package shadows.apotheosis.ench.library;
+
+import java.util.function.Supplier;
+
+import it.unimi.dsi.fastutil.ints.IntCollection;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent.Context;
+import shadows.placebo.network.MessageHelper;
+import shadows.placebo.network.MessageProvider;
+
+/**
+ * Sends the changed entries of an {@link EnchLibraryTile} to tracking clients.<br>
+ * Enchantments are sent by registry id, and only entries touched since the last sync are included.
+ */
+public class LibraryDeltaMessage implements MessageProvider<LibraryDeltaMessage> {
+
+    protected final BlockPos pos;
+    protected final int[] ids, levels;
+    protected final long[] points;
+
+    public LibraryDeltaMessage(BlockPos pos, int[] ids, long[] points, int[] levels) {
+        this.pos = pos;
+        this.ids = ids;
+        this.points = points;
+        this.levels = levels;
+    }
+
+    /**
+     * Creates a delta message containing the current values of the given enchantments.
+     *
+     * @param tile    The library being synced.
+     * @param changed The registry ids of the enchantments that have changed since the last sync.
+     */
+    public static LibraryDeltaMessage of(EnchLibraryTile tile, IntCollection changed) {
+        int size = changed.size();
+        int[] ids = new int[size], levels = new int[size];
+        long[] points = new long[size];
+        int i = 0;
+        for (IntIterator it = changed.iterator(); it.hasNext(); i++) {
+            int id = it.nextInt();
+            ids[i] = id;
+            points[i] = tile.points[id];
+            levels[i] = tile.maxLevels[id];
+        }
+        return new LibraryDeltaMessage(tile.getBlockPos(), ids, points, levels);
+    }
+
+    @Override
+    public void write(LibraryDeltaMessage msg, FriendlyByteBuf buf) {
+        buf.writeBlockPos(msg.pos);
+        buf.writeVarInt(msg.ids.length);
+        for (int i = 0; i < msg.ids.length; i++) {
+            buf.writeVarInt(msg.ids[i]);
+            buf.writeVarLong(msg.points[i]);
+            buf.writeByte(msg.levels[i]);
+        }
+    }
+
+    @Override
+    public LibraryDeltaMessage read(FriendlyByteBuf buf) {
+        BlockPos pos = buf.readBlockPos();
+        int size = buf.readVarInt();
+        int[] ids = new int[size], levels = new int[size];
+        long[] points = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = buf.readVarInt();
+            points[i] = buf.readVarLong();
+            levels[i] = buf.readByte();
+        }
+        return new LibraryDeltaMessage(pos, ids, points, levels);
+    }
+
+    @Override
+    public void handle(LibraryDeltaMessage msg, Supplier<Context> ctx) {
+        MessageHelper.handlePacket(() -> () -> {
+            if (Minecraft.getInstance().level.getBlockEntity(msg.pos) instanceof EnchLibraryTile lib) {
+                lib.applyDelta(msg);
+            }
+        }, ctx);
+    }
+
+}
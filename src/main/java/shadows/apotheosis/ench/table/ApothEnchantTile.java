@@ -1,9 +1,21 @@
 package shadows.apotheosis.ench.table;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.entity.EnchantmentTableBlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.Tags;
@@ -12,9 +24,15 @@ import net.minecraftforge.common.capabilities.ForgeCapabilities;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.ItemStackHandler;
+import shadows.apotheosis.ench.table.ApothEnchantmentMenu.TableStats;
 
 public class ApothEnchantTile extends EnchantmentTableBlockEntity {
 
+    /**
+     * Loaded server-side tables, bucketed by chunk, so block changes can find the tables whose shelf volume they fall in.
+     */
+    private static final Map<Level, Long2ObjectMap<List<ApothEnchantTile>>> LOADED_TABLES = new WeakHashMap<>();
+
     protected ItemStackHandler inv = new ItemStackHandler(1){
         @Override
         public boolean isItemValid(int slot, ItemStack stack) {
@@ -22,10 +40,65 @@ public class ApothEnchantTile extends EnchantmentTableBlockEntity {
         };
     };
 
+    /**
+     * The stats of the surrounding shelves, or null if they need to be recomputed.
+     */
+    @Nullable
+    protected TableStats stats;
+    protected int statsGeneration;
+
     public ApothEnchantTile(BlockPos pos, BlockState state) {
         super(pos, state);
     }
 
+    /**
+     * Retrieves the enchanting stats of the shelves around this table.<br>
+     * On the server, the stats are cached until a block in the shelf volume changes (see {@link #onBlockChanged}) or the stat files are reloaded.
+     */
+    public TableStats getStats() {
+        if (this.level.isClientSide) return ApothEnchantmentMenu.gatherStats(this.level, this.worldPosition);
+        int generation = EnchantingStatManager.getGeneration();
+        if (this.stats == null || this.statsGeneration != generation) {
+            this.stats = ApothEnchantmentMenu.gatherStats(this.level, this.worldPosition);
+            this.statsGeneration = generation;
+        }
+        return this.stats;
+    }
+
+    public void invalidateStats() {
+        this.stats = null;
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (!this.level.isClientSide) {
+            LOADED_TABLES.computeIfAbsent(this.level, l -> new Long2ObjectOpenHashMap<>()).computeIfAbsent(ChunkPos.asLong(this.worldPosition), k -> new ArrayList<>(1)).add(this);
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        this.untrack();
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        this.untrack();
+    }
+
+    protected void untrack() {
+        if (this.level == null || this.level.isClientSide) return;
+        Long2ObjectMap<List<ApothEnchantTile>> tables = LOADED_TABLES.get(this.level);
+        if (tables == null) return;
+        long key = ChunkPos.asLong(this.worldPosition);
+        List<ApothEnchantTile> list = tables.get(key);
+        if (list != null && list.remove(this) && list.isEmpty()) tables.remove(key);
+        if (tables.isEmpty()) LOADED_TABLES.remove(this.level);
+    }
+
     @Override
     public void saveAdditional(CompoundTag tag) {
         super.saveAdditional(tag);
@@ -58,4 +131,35 @@ public class ApothEnchantTile extends EnchantmentTableBlockEntity {
         this.invCap = LazyOptional.of(() -> this.inv);
     }
 
+    /**
+     * Invalidates the cached stats of any loaded table whose shelf volume contains the changed position.<br>
+     * The shelf volume spans the {@link net.minecraft.world.level.block.EnchantmentTableBlock#BOOKSHELF_OFFSETS} (two blocks out, one block up),
+     * which also covers the transmitter blocks between the shelves and the table.
+     */
+    public static void onBlockChanged(LevelAccessor level, BlockPos pos) {
+        if (level.isClientSide()) return;
+        Long2ObjectMap<List<ApothEnchantTile>> tables = LOADED_TABLES.get(level);
+        if (tables == null) return;
+        int minCx = (pos.getX() - 2) >> 4, maxCx = (pos.getX() + 2) >> 4;
+        int minCz = (pos.getZ() - 2) >> 4, maxCz = (pos.getZ() + 2) >> 4;
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                List<ApothEnchantTile> list = tables.get(ChunkPos.asLong(cx, cz));
+                if (list == null) continue;
+                for (ApothEnchantTile tile : list) {
+                    BlockPos tPos = tile.worldPosition;
+                    int dy = pos.getY() - tPos.getY();
+                    if (dy >= 0 && dy <= 1 && Math.abs(pos.getX() - tPos.getX()) <= 2 && Math.abs(pos.getZ() - tPos.getZ()) <= 2) tile.invalidateStats();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all tracked tables for a level. Called when the level is unloaded.
+     */
+    public static void unloadLevel(LevelAccessor level) {
+        LOADED_TABLES.remove(level);
+    }
+
 }
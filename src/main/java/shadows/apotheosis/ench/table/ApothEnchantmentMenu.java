@@ -247,7 +247,7 @@ public class ApothEnchantmentMenu extends EnchantmentMenu {
 
     public void gatherStats() {
         this.access.evaluate((world, pos) -> {
-            TableStats stats = gatherStats(world, pos);
+            TableStats stats = world.getBlockEntity(pos) instanceof ApothEnchantTile tile ? tile.getStats() : gatherStats(world, pos);
             this.eterna.set(stats.eterna());
             this.quanta.set(stats.quanta());
             this.arcana.set(stats.arcana() + this.getSlot(0).getItem().getEnchantmentValue() / 2F);
@@ -258,7 +258,8 @@ public class ApothEnchantmentMenu extends EnchantmentMenu {
     }
 
     /**
-     * Gathers all enchanting stats for an enchantment table located at the specified position.
+     * Gathers all enchanting stats for an enchantment table located at the specified position.<br>
+     * This always performs a full scan; prefer {@link ApothEnchantTile#getStats()} when the table is available.
      * 
      * @param level The level.
      * @param pos   The position of the enchantment table.
@@ -306,14 +307,13 @@ public class ApothEnchantmentMenu extends EnchantmentMenu {
     public static void gatherStats(Float2FloatMap eternaMap, float[] stats, Level world, BlockPos pos) {
         BlockState state = world.getBlockState(pos);
         if (state.isAir()) return;
-        float max = EnchantingStatManager.getMaxEterna(state, world, pos);
-        float eterna = EnchantingStatManager.getEterna(state, world, pos);
-        eternaMap.put(max, eternaMap.getOrDefault(max, 0) + eterna);
-
-        stats[1] += EnchantingStatManager.getQuanta(state, world, pos);
-        stats[2] += EnchantingStatManager.getArcana(state, world, pos);
-        stats[3] += EnchantingStatManager.getQuantaRectification(state, world, pos);
-        stats[4] += EnchantingStatManager.getBonusClues(state, world, pos);
+        EnchantingStatManager.Stats blockStats = EnchantingStatManager.getStats(state, world, pos);
+        eternaMap.put(blockStats.maxEterna(), eternaMap.getOrDefault(blockStats.maxEterna(), 0) + blockStats.eterna());
+
+        stats[1] += blockStats.quanta();
+        stats[2] += blockStats.arcana();
+        stats[3] += blockStats.rectification();
+        stats[4] += blockStats.clues();
     }
 
     @Override
@@ -1,7 +1,6 @@
 package shadows.apotheosis.ench.table;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Comparator;
 
 import javax.annotation.Nullable;
 
@@ -25,12 +24,23 @@ import net.minecraft.world.level.Level;
 import net.minecraftforge.common.crafting.CraftingHelper;
 import shadows.apotheosis.Apoth.RecipeTypes;
 import shadows.apotheosis.ench.table.EnchantingStatManager.Stats;
+import shadows.apotheosis.util.RecipeIndex;
 
 public class EnchantingRecipe implements Recipe<Container> {
 
     public static final Serializer SERIALIZER = new Serializer();
     public static final Stats NO_MAX = new Stats(-1, -1, -1, -1, -1, -1);
 
+    /**
+     * Index of all infusion recipes by input, ordered by descending eterna requirement. Used by {@link #findMatch}.
+     */
+    private static final RecipeIndex<EnchantingRecipe> BY_ETERNA = new RecipeIndex<>(RecipeTypes.INFUSION, EnchantingRecipe::getInput, Comparator.comparing((EnchantingRecipe r) -> r.requirements.eterna()).reversed());
+
+    /**
+     * Index of all infusion recipes by input, in load order. Used by {@link #findItemMatch}.
+     */
+    private static final RecipeIndex<EnchantingRecipe> BY_INPUT = new RecipeIndex<>(RecipeTypes.INFUSION, EnchantingRecipe::getInput);
+
     protected final ResourceLocation id;
     protected final ItemStack output;
     protected final Ingredient input;
@@ -158,15 +168,14 @@ public class EnchantingRecipe implements Recipe<Container> {
 
     @Nullable
     public static EnchantingRecipe findMatch(Level level, ItemStack input, float eterna, float quanta, float arcana) {
-        List<EnchantingRecipe> recipes = new ArrayList<>(level.getRecipeManager().getAllRecipesFor(RecipeTypes.INFUSION));
-        recipes.sort((r1, r2) -> -Float.compare(r1.requirements.eterna(), r2.requirements.eterna()));
-        for (EnchantingRecipe r : recipes)
+        for (EnchantingRecipe r : BY_ETERNA.getCandidates(level.getRecipeManager(), input))
             if (r.matches(input, eterna, quanta, arcana)) return r;
         return null;
     }
 
+    @Nullable
     public static EnchantingRecipe findItemMatch(Level level, ItemStack toEnchant) {
-        return level.getRecipeManager().getAllRecipesFor(RecipeTypes.INFUSION).stream().filter(r -> r.getInput().test(toEnchant)).findFirst().orElse(null);
+        return BY_INPUT.findFirst(level.getRecipeManager(), toEnchant);
     }
 
 }
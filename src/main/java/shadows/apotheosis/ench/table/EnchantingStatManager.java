@@ -36,6 +36,7 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
     private final Map<Block, Stats> statsPerBlock = new HashMap<>();
 
     private float absoluteMaxEterna = 50;
+    private volatile int generation = 0;
 
     protected EnchantingStatManager() {
         super(EnchModule.LOGGER, "enchanting_stats", true, false);
@@ -59,6 +60,20 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
             bStats.blocks.forEach(b -> this.statsPerBlock.put(b, bStats.stats));
         }
         this.computeAbsoluteMaxEterna();
+        this.generation++;
+    }
+
+    /**
+     * Resolves all enchanting stats for a specific block in a single lookup.
+     * Stats are provided by a stat file if one exists for the block, or by the {@link IEnchantingBlock} methods otherwise.
+     */
+    public static Stats getStats(BlockState state, Level world, BlockPos pos) {
+        Block block = state.getBlock();
+        Stats stats = INSTANCE.statsPerBlock.get(block);
+        if (stats != null) return stats;
+        IEnchantingBlock ench = (IEnchantingBlock) block;
+        return new Stats(ench.getMaxEnchantingPower(state, world, pos), state.getEnchantPowerBonus(world, pos), ench.getQuantaBonus(state, world, pos), ench.getArcanaBonus(state, world, pos), ench.getQuantaRectification(state, world, pos),
+            ench.getBonusClues(state, world, pos));
     }
 
     /**
@@ -67,8 +82,8 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
      * 1F of Eterna = 2 Levels in the enchanting table.
      */
     public static float getEterna(BlockState state, Level world, BlockPos pos) {
-        Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).eterna;
+        Stats stats = INSTANCE.statsPerBlock.get(state.getBlock());
+        if (stats != null) return stats.eterna;
         return state.getEnchantPowerBonus(world, pos);
     }
 
@@ -79,7 +94,8 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
      */
     public static float getMaxEterna(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).maxEterna;
+        Stats stats = INSTANCE.statsPerBlock.get(block);
+        if (stats != null) return stats.maxEterna;
         return ((IEnchantingBlock) block).getMaxEnchantingPower(state, world, pos);
     }
 
@@ -90,9 +106,9 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
      */
     public static float getQuanta(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).quanta;
-        else if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getQuantaBonus(state, world, pos);
-        return 0;
+        Stats stats = INSTANCE.statsPerBlock.get(block);
+        if (stats != null) return stats.quanta;
+        return ((IEnchantingBlock) block).getQuantaBonus(state, world, pos);
     }
 
     /**
@@ -102,9 +118,9 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
      */
     public static float getArcana(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).arcana;
-        else if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getArcanaBonus(state, world, pos);
-        return 0;
+        Stats stats = INSTANCE.statsPerBlock.get(block);
+        if (stats != null) return stats.arcana;
+        return ((IEnchantingBlock) block).getArcanaBonus(state, world, pos);
     }
 
     /**
@@ -113,9 +129,9 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
      */
     public static float getQuantaRectification(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).rectification;
-        if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getQuantaRectification(state, world, pos);
-        return 0;
+        Stats stats = INSTANCE.statsPerBlock.get(block);
+        if (stats != null) return stats.rectification;
+        return ((IEnchantingBlock) block).getQuantaRectification(state, world, pos);
     }
 
     /**
@@ -124,9 +140,9 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
      */
     public static int getBonusClues(BlockState state, Level world, BlockPos pos) {
         Block block = state.getBlock();
-        if (INSTANCE.statsPerBlock.containsKey(block)) return INSTANCE.statsPerBlock.get(block).clues;
-        if (block instanceof IEnchantingBlock) return ((IEnchantingBlock) block).getBonusClues(state, world, pos);
-        return 0;
+        Stats stats = INSTANCE.statsPerBlock.get(block);
+        if (stats != null) return stats.clues;
+        return ((IEnchantingBlock) block).getBonusClues(state, world, pos);
     }
 
     /**
@@ -136,6 +152,13 @@ public class EnchantingStatManager extends PlaceboJsonReloadListener<BlockStats>
         return INSTANCE.absoluteMaxEterna;
     }
 
+    /**
+     * Returns a counter that is incremented each time the stats are reloaded, so cached stats can detect when they are stale.
+     */
+    public static int getGeneration() {
+        return INSTANCE.generation;
+    }
+
     private void computeAbsoluteMaxEterna() {
         this.absoluteMaxEterna = this.registry.values().stream().max(Comparator.comparingDouble(s -> s.stats.maxEterna)).get().stats.maxEterna;
     }
@@ -0,0 +1,141 @@
+package shadows.apotheosis.ench.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraftforge.registries.ForgeRegistries;
+import shadows.apotheosis.ench.EnchModule;
+import shadows.apotheosis.ench.EnchantmentInfo;
+
+/**
+ * Precomputed view of which level of each enchantment is available at a given enchanting power.<br>
+ * For every enchantment, the power intervals of all of its levels are flattened into a sorted table of breakpoints,
+ * so resolving the level for a power is a binary search instead of evaluating {@link EnchantmentInfo#getMinPower(int)} and
+ * {@link EnchantmentInfo#getMaxPower(int)} (which may be expression-backed) for every level.
+ * <p>
+ * The index is built lazily, and is rebuilt when the enchantment info is reloaded or the enchanting stats change
+ * (as the default max power depends on {@link EnchantingStatManager#getAbsoluteMaxEterna()}).
+ */
+public class EnchantmentPowerIndex {
+
+    private static volatile EnchantmentPowerIndex instance;
+
+    private final int statGeneration;
+    private final Entry[] treasure;
+    private final Entry[] nonTreasure;
+
+    private EnchantmentPowerIndex() {
+        this.statGeneration = EnchantingStatManager.getGeneration();
+        List<Entry> treasure = new ArrayList<>();
+        List<Entry> nonTreasure = new ArrayList<>();
+        for (Enchantment ench : ForgeRegistries.ENCHANTMENTS) {
+            EnchantmentInfo info = EnchModule.getEnchInfo(ench);
+            if (!info.isDiscoverable()) continue;
+            Entry entry = new Entry(ench, LevelTable.build(ench, info));
+            treasure.add(entry);
+            if (!info.isTreasure()) nonTreasure.add(entry);
+        }
+        this.treasure = treasure.toArray(new Entry[treasure.size()]);
+        this.nonTreasure = nonTreasure.toArray(new Entry[nonTreasure.size()]);
+    }
+
+    /**
+     * Retrieves the current index, building it if necessary.
+     */
+    public static EnchantmentPowerIndex get() {
+        EnchantmentPowerIndex idx = instance;
+        if (idx == null || idx.statGeneration != EnchantingStatManager.getGeneration()) {
+            instance = idx = new EnchantmentPowerIndex();
+        }
+        return idx;
+    }
+
+    /**
+     * Discards the current index. Called when the enchantment info is reloaded.
+     */
+    public static void invalidate() {
+        instance = null;
+    }
+
+    /**
+     * @param allowTreasure If treasure enchantments should be included.
+     * @return All discoverable enchantments (optionally including treasure enchantments), in registry order. Callers must not modify the returned array.
+     */
+    public Entry[] getCandidates(boolean allowTreasure) {
+        return allowTreasure ? this.treasure : this.nonTreasure;
+    }
+
+    /**
+     * @param enchantment The enchantment.
+     * @param levels      The level table for the enchantment.
+     */
+    public static record Entry(Enchantment enchantment, LevelTable levels) {}
+
+    /**
+     * A step function mapping enchanting power to the highest level of an enchantment whose power interval contains it.
+     * The level for any power in {@code [breakpoints[i], breakpoints[i + 1])} is {@code levels[i]}, or {@link #NONE} if unavailable.
+     */
+    public static final class LevelTable {
+
+        /**
+         * Returned by {@link #getLevel(int)} when no level is available at the given power.
+         */
+        public static final int NONE = Integer.MIN_VALUE;
+
+        private final int[] breakpoints;
+        private final int[] levels;
+
+        private LevelTable(int[] breakpoints, int[] levels) {
+            this.breakpoints = breakpoints;
+            this.levels = levels;
+        }
+
+        /**
+         * @return The highest level available at the given power, or {@link #NONE} if no level is available.
+         */
+        public int getLevel(int power) {
+            int idx = Arrays.binarySearch(this.breakpoints, power);
+            if (idx < 0) idx = -idx - 2; // Insertion point - 1, the last breakpoint below the power.
+            return idx < 0 ? NONE : this.levels[idx];
+        }
+
+        static LevelTable build(Enchantment ench, EnchantmentInfo info) {
+            int minLevel = ench.getMinLevel();
+            int maxLevel = info.getMaxLevel();
+            int count = Math.max(0, maxLevel - minLevel + 1);
+            int[] mins = new int[count];
+            int[] maxes = new int[count];
+            IntSortedSet points = new IntAVLTreeSet();
+            for (int i = 0; i < count; i++) {
+                int level = minLevel + i;
+                mins[i] = info.getMinPower(level);
+                maxes[i] = info.getMaxPower(level);
+                if (mins[i] > maxes[i]) continue;
+                points.add(mins[i]);
+                if (maxes[i] != Integer.MAX_VALUE) points.add(maxes[i] + 1);
+            }
+
+            int[] breakpoints = points.toIntArray();
+            int[] levels = new int[breakpoints.length];
+            for (int p = 0; p < breakpoints.length; p++) {
+                levels[p] = resolve(breakpoints[p], minLevel, mins, maxes);
+            }
+            return new LevelTable(breakpoints, levels);
+        }
+
+        /**
+         * Mirrors the original descending search: the highest level whose interval contains the power wins.
+         */
+        private static int resolve(int power, int minLevel, int[] mins, int[] maxes) {
+            for (int i = mins.length - 1; i >= 0; i--) {
+                if (power >= mins[i] && power <= maxes[i]) return minLevel + i;
+            }
+            return NONE;
+        }
+    }
+
+}
@@ -17,10 +17,8 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.item.enchantment.EnchantmentInstance;
-import net.minecraftforge.registries.ForgeRegistries;
-import shadows.apotheosis.ench.EnchModule;
-import shadows.apotheosis.ench.EnchantmentInfo;
 import shadows.apotheosis.ench.table.ApothEnchantmentMenu.Arcana;
+import shadows.apotheosis.ench.table.EnchantmentPowerIndex.LevelTable;
 
 public class RealEnchantmentHelper {
 
@@ -120,21 +118,18 @@ public class RealEnchantmentHelper {
      * @param stack         The ItemStack being enchanted.
      * @param allowTreasure If treasure enchantments are allowed.
      * @return All possible enchantments that are eligible to be placed on this item at a specific power level.
+     * @see EnchantmentPowerIndex
      */
     public static List<EnchantmentInstance> getAvailableEnchantmentResults(int power, ItemStack stack, boolean allowTreasure) {
         List<EnchantmentInstance> list = new ArrayList<>();
         IEnchantableItem enchi = (IEnchantableItem) stack.getItem();
         allowTreasure = enchi.isTreasureAllowed(stack, allowTreasure);
-        for (Enchantment enchantment : ForgeRegistries.ENCHANTMENTS) {
-            EnchantmentInfo info = EnchModule.getEnchInfo(enchantment);
-            if (info.isTreasure() && !allowTreasure || !info.isDiscoverable()) continue;
+        for (EnchantmentPowerIndex.Entry entry : EnchantmentPowerIndex.get().getCandidates(allowTreasure)) {
+            int level = entry.levels().getLevel(power);
+            if (level == LevelTable.NONE) continue;
+            Enchantment enchantment = entry.enchantment();
             if (enchantment.canApplyAtEnchantingTable(stack) || enchi.forciblyAllowsTableEnchantment(stack, enchantment)) {
-                for (int level = info.getMaxLevel(); level > enchantment.getMinLevel() - 1; --level) {
-                    if (power >= info.getMinPower(level) && power <= info.getMaxPower(level)) {
-                        list.add(new EnchantmentInstance(enchantment, level));
-                        break;
-                    }
-                }
+                list.add(new EnchantmentInstance(enchantment, level));
             }
         }
         return list;
@@ -0,0 +1,32 @@
+package shadows.apotheosis.mixin;
+
+import javax.annotation.Nullable;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+import net.minecraft.world.entity.projectile.AbstractArrow;
+import shadows.apotheosis.adventure.affix.ArrowAffixSnapshot;
+
+/**
+ * Attaches a transient {@link ArrowAffixSnapshot} to arrows, so that affix hooks do not need to re-parse the arrow's persistent data.
+ */
+@Mixin(AbstractArrow.class)
+public class AbstractArrowMixin implements ArrowAffixSnapshot.Holder {
+
+    @Unique
+    @Nullable
+    private ArrowAffixSnapshot apotheosis$affixSnapshot;
+
+    @Override
+    @Nullable
+    public ArrowAffixSnapshot apoth_getAffixSnapshot() {
+        return this.apotheosis$affixSnapshot;
+    }
+
+    @Override
+    public void apoth_setAffixSnapshot(ArrowAffixSnapshot snapshot) {
+        this.apotheosis$affixSnapshot = snapshot;
+    }
+
+}
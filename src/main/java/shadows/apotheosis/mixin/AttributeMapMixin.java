@@ -0,0 +1,47 @@
+package shadows.apotheosis.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeMap;
+import shadows.apotheosis.core.attributeslib.util.CombatSnapshot;
+import shadows.apotheosis.core.attributeslib.util.ModCountedAttributeMap;
+
+@Mixin(AttributeMap.class)
+public class AttributeMapMixin implements ModCountedAttributeMap, CombatSnapshot.Holder {
+
+    @Unique
+    private int apoth_modCount;
+
+    @Unique
+    private CombatSnapshot apoth_combatSnapshot;
+
+    /**
+     * @author Shadows
+     * @reason Tracks modifications to any attribute in this map, so that cached values such as {@link CombatSnapshot}s can be invalidated.
+     */
+    @Inject(at = @At("HEAD"), method = "onAttributeModified(Lnet/minecraft/world/entity/ai/attributes/AttributeInstance;)V", require = 1)
+    private void apoth_onAttributeModified(AttributeInstance inst, CallbackInfo ci) {
+        this.apoth_modCount++;
+    }
+
+    @Override
+    public int apoth_getModCount() {
+        return this.apoth_modCount;
+    }
+
+    @Override
+    public CombatSnapshot apoth_getCombatSnapshot() {
+        return this.apoth_combatSnapshot;
+    }
+
+    @Override
+    public void apoth_setCombatSnapshot(CombatSnapshot snapshot) {
+        this.apoth_combatSnapshot = snapshot;
+    }
+
+}
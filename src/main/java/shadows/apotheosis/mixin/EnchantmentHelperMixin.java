@@ -1,7 +1,6 @@
 package shadows.apotheosis.mixin;
 
 import java.util.List;
-import java.util.Map;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -21,9 +20,10 @@ import net.minecraft.world.entity.MobType;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.item.enchantment.EnchantmentInstance;
-import shadows.apotheosis.adventure.affix.Affix;
 import shadows.apotheosis.adventure.affix.AffixHelper;
 import shadows.apotheosis.adventure.affix.AffixInstance;
+import shadows.apotheosis.adventure.affix.AffixProgram.Hook;
+import shadows.apotheosis.adventure.affix.EquipmentAffixes;
 import shadows.apotheosis.ench.table.RealEnchantmentHelper;
 
 @Mixin(EnchantmentHelper.class)
@@ -63,10 +63,7 @@ public class EnchantmentHelperMixin {
     private static void apoth_getDamageProtection(Iterable<ItemStack> stacks, DamageSource source, CallbackInfoReturnable<Integer> cir) {
         int prot = cir.getReturnValueI();
         for (ItemStack s : stacks) {
-            Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(s);
-            for (AffixInstance inst : affixes.values()) {
-                prot += inst.getDamageProtection(source);
-            }
+            prot += AffixHelper.getProgram(s).getDamageProtection(source);
         }
         cir.setReturnValue(prot);
     }
@@ -77,10 +74,7 @@ public class EnchantmentHelperMixin {
     @Inject(at = @At("RETURN"), method = "getDamageBonus(Lnet/minecraft/world/item/ItemStack;Lnet/minecraft/world/entity/MobType;)F", cancellable = true)
     private static void apoth_getDamageBonus(ItemStack stack, MobType type, CallbackInfoReturnable<Float> cir) {
         float dmg = cir.getReturnValueF();
-        Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(stack);
-        for (AffixInstance inst : affixes.values()) {
-            dmg += inst.getDamageBonus(type);
-        }
+        dmg += AffixHelper.getProgram(stack).getDamageBonus(type);
         cir.setReturnValue(dmg);
     }
 
@@ -90,14 +84,11 @@ public class EnchantmentHelperMixin {
     @Inject(at = @At("TAIL"), method = "doPostDamageEffects(Lnet/minecraft/world/entity/LivingEntity;Lnet/minecraft/world/entity/Entity;)V")
     private static void apoth_doPostDamageEffects(LivingEntity user, Entity target, CallbackInfo ci) {
         if (user == null) return;
-        for (ItemStack s : user.getAllSlots()) {
-            Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(s);
-            for (AffixInstance inst : affixes.values()) {
-                int old = target.invulnerableTime;
-                target.invulnerableTime = 0;
-                inst.doPostAttack(user, target);
-                target.invulnerableTime = old;
-            }
+        for (AffixInstance inst : EquipmentAffixes.of(user).get(Hook.POST_ATTACK)) {
+            int old = target.invulnerableTime;
+            target.invulnerableTime = 0;
+            inst.doPostAttack(user, target);
+            target.invulnerableTime = old;
         }
     }
 
@@ -107,12 +98,7 @@ public class EnchantmentHelperMixin {
     @Inject(at = @At("TAIL"), method = "doPostHurtEffects(Lnet/minecraft/world/entity/LivingEntity;Lnet/minecraft/world/entity/Entity;)V")
     private static void apoth_doPostHurtEffects(LivingEntity user, Entity attacker, CallbackInfo ci) {
         if (user == null) return;
-        for (ItemStack s : user.getAllSlots()) {
-            Map<Affix, AffixInstance> affixes = AffixHelper.getAffixes(s);
-            for (AffixInstance inst : affixes.values()) {
-                inst.doPostHurt(user, attacker);
-            }
-        }
+        EquipmentAffixes.of(user).doPostHurt(user, attacker);
     }
 
     /**
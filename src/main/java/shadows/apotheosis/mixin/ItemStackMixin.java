@@ -5,7 +5,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.DoubleStream;
 
 import javax.annotation.Nullable;
 
@@ -26,13 +25,16 @@ import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.contents.TranslatableContents;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
 import shadows.apotheosis.adventure.affix.AffixHelper;
+import shadows.apotheosis.adventure.affix.AffixInstance;
+import shadows.apotheosis.adventure.affix.AffixName;
+import shadows.apotheosis.adventure.affix.AffixProgram.Hook;
+import shadows.apotheosis.adventure.affix.effect.DurableAffix;
 import shadows.apotheosis.ench.asm.EnchHooks;
 
 @Mixin(ItemStack.class)
@@ -41,21 +43,12 @@ public class ItemStackMixin {
     @Inject(method = "getHoverName", at = @At("RETURN"), cancellable = true)
     public void apoth_affixItemName(CallbackInfoReturnable<Component> ci) {
         ItemStack ths = (ItemStack) (Object) this;
-        CompoundTag afxData = ths.getTagElement(AffixHelper.AFFIX_DATA);
-        if (afxData != null && afxData.contains(AffixHelper.NAME, 8)) {
-            try {
-                Component component = AffixHelper.getName(ths);
-                if (component.getContents() instanceof TranslatableContents tContents) {
-                    int idx = "misc.apotheosis.affix_name.four".equals(tContents.getKey()) ? 2 : 1;
-                    tContents.getArgs()[idx] = ci.getReturnValue();
-                    ci.setReturnValue(component);
-                }
-                else afxData.remove(AffixHelper.NAME);
-            }
-            catch (Exception exception) {
-                afxData.remove(AffixHelper.NAME);
-            }
+        AffixName name = AffixHelper.getNameTemplate(ths);
+        if (name == null) return;
+        if (name == AffixName.INVALID) {
+            ths.getTagElement(AffixHelper.AFFIX_DATA).remove(AffixHelper.NAME);
         }
+        else ci.setReturnValue(name.bind(ci.getReturnValue()));
     }
 
     // Injects just before ItemStack.TooltipPart.MODIFIERS is written to the tooltip to remember where to rewind to.
@@ -78,8 +71,10 @@ public class ItemStackMixin {
     @ModifyVariable(at = @At(value = "INVOKE", target = "net/minecraft/world/item/ItemStack.getDamageValue()I"), method = "hurt", argsOnly = true, ordinal = 0)
     public int swapDura(int amount, int amountCopy, RandomSource pRandom, @Nullable ServerPlayer pUser) {
         int blocked = 0;
-        DoubleStream chances = AffixHelper.getAffixes((ItemStack) (Object) this).values().stream().mapToDouble(inst -> inst.getDurabilityBonusPercentage(pUser));
-        double chance = chances.reduce(0, (res, ele) -> res + (1 - res) * ele);
+        double chance = 0;
+        for (AffixInstance inst : AffixHelper.getProgram((ItemStack) (Object) this).get(Hook.DURABILITY)) {
+            chance = DurableAffix.duraProd(chance, inst.getDurabilityBonusPercentage(pUser));
+        }
         int delta = 1;
         if (chance < 0) {
             delta = -1;
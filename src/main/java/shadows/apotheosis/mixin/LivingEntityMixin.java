@@ -4,6 +4,7 @@ import javax.annotation.Nullable;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
 
@@ -15,11 +16,15 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.level.Level;
+import shadows.apotheosis.adventure.affix.EquipmentAffixes;
 import shadows.apotheosis.core.attributeslib.asm.ALCombatRules;
 import shadows.apotheosis.core.mobfx.api.MFEffects;
 
 @Mixin(LivingEntity.class)
-public abstract class LivingEntityMixin extends Entity {
+public abstract class LivingEntityMixin extends Entity implements EquipmentAffixes.Holder {
+
+    @Unique
+    private EquipmentAffixes apoth_equipmentAffixes;
 
     public LivingEntityMixin(EntityType<?> pEntityType, Level pLevel) {
         super(pEntityType, pLevel);
@@ -66,6 +71,16 @@ public abstract class LivingEntityMixin extends Entity {
     @Shadow
     public abstract MobEffectInstance getEffect(MobEffect ef);
 
+    @Override
+    public EquipmentAffixes apoth_getEquipmentAffixes() {
+        return this.apoth_equipmentAffixes;
+    }
+
+    @Override
+    public void apoth_setEquipmentAffixes(EquipmentAffixes affixes) {
+        this.apoth_equipmentAffixes = affixes;
+    }
+
     @Override
     public int getTeamColor() {
         int color = super.getTeamColor();
@@ -1,6 +1,7 @@
 package shadows.apotheosis.spawn.modifiers;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -21,6 +22,7 @@ import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 import shadows.apotheosis.Apoth.RecipeTypes;
 import shadows.apotheosis.spawn.spawner.ApothSpawnerTile;
+import shadows.apotheosis.util.RecipeIndex;
 
 /**
  * Parent class for all spawner modifiers.
@@ -31,6 +33,11 @@ public class SpawnerModifier implements Recipe<Container> {
 
     public static final Serializer SERIALIZER = new Serializer();
 
+    /**
+     * Index of all modifiers by mainhand item, with modifiers that require an offhand item ordered first.
+     */
+    private static final RecipeIndex<SpawnerModifier> INDEX = new RecipeIndex<>(RecipeTypes.MODIFIER, SpawnerModifier::getMainhandInput, Comparator.comparing((SpawnerModifier r) -> r.offHand == Ingredient.EMPTY));
+
     protected final ResourceLocation id;
     protected final Ingredient mainHand, offHand;
     protected final boolean consumesOffhand;
@@ -128,11 +135,12 @@ public class SpawnerModifier implements Recipe<Container> {
         return RecipeTypes.MODIFIER;
     }
 
+    /**
+     * Finds the first modifier matching the held items. Modifiers which require an offhand item are checked first.
+     */
     @Nullable
     public static SpawnerModifier findMatch(ApothSpawnerTile tile, ItemStack mainhand, ItemStack offhand) {
-        List<SpawnerModifier> recipes = new ArrayList<>(tile.getLevel().getRecipeManager().getAllRecipesFor(RecipeTypes.MODIFIER));
-        recipes.sort((r1, r2) -> r1.offHand == Ingredient.EMPTY ? r2.offHand == Ingredient.EMPTY ? 0 : 1 : -1);
-        for (SpawnerModifier r : recipes)
+        for (SpawnerModifier r : INDEX.getCandidates(tile.getLevel().getRecipeManager(), mainhand))
             if (r.matches(tile, mainhand, offhand)) return r;
         return null;
     }
@@ -64,6 +64,13 @@ public class ApothSpawnerTile extends SpawnerBlockEntity {
         this.hasNoAI = tag.getBoolean("no_ai");
         this.silent = tag.getBoolean("silent");
         super.load(tag);
+        ((SpawnerLogicExt) this.spawner).invalidateLightProbe();
+    }
+
+    @Override
+    public void setChanged() {
+        super.setChanged();
+        ((SpawnerLogicExt) this.spawner).invalidateLightProbe();
     }
 
     @Override
@@ -73,8 +80,22 @@ public class ApothSpawnerTile extends SpawnerBlockEntity {
 
     public class SpawnerLogicExt extends BaseSpawner {
 
+        /**
+         * Reused for every spawn attempt, see {@link #getLiar(ServerLevel)}.
+         */
+        @Nullable
+        protected LyingLevel liar;
+
+        /**
+         * The first fake light level at which {@link #probedType} passed its spawn rules, or -1 if unknown.
+         */
+        protected int probedLight = -1;
+        protected EntityType<?> probedType;
+        protected Optional<SpawnData.CustomSpawnRules> probedRules;
+
         @Override
         public void setEntityId(EntityType<?> pType) {
+            this.invalidateLightProbe();
             this.nextSpawnData = new SpawnData();
             super.setEntityId(pType);
             this.spawnPotentials = SimpleWeightedRandomList.single(this.nextSpawnData);
@@ -155,6 +176,11 @@ public class ApothSpawnerTile extends SpawnerBlockEntity {
                 else {
                     boolean flag = false;
 
+                    // LOGIC CHANGE : Nearby entities are counted once per cycle, and the count is tracked as entities are added.
+                    AABB range = new AABB(pPos).inflate(this.spawnRange);
+                    Class<? extends Entity> countedClass = null;
+                    int nearby = 0;
+
                     for (int i = 0; i < this.spawnCount; ++i) {
                         CompoundTag tag = this.nextSpawnData.getEntityToSpawn();
                         Optional<EntityType<?>> optional = EntityType.by(tag);
@@ -172,24 +198,22 @@ public class ApothSpawnerTile extends SpawnerBlockEntity {
                             BlockPos blockpos = new BlockPos(d0, d1, d2);
 
                             // LOGIC CHANGE : Ability to ignore conditions set in the spawner and by the entity.
-                            LyingLevel liar = new LyingLevel(pServerLevel);
+                            LyingLevel liar = this.getLiar(pServerLevel);
                             boolean useLiar = false;
                             if (!ApothSpawnerTile.this.ignoresConditions) {
                                 if (ApothSpawnerTile.this.ignoresLight) {
-                                    boolean pass = false;
-                                    for (int light = 0; light < 16; light++) {
-                                        liar.setFakeLightLevel(light);
-                                        if (this.checkSpawnRules(optional, liar, blockpos)) {
-                                            pass = true;
-                                            break;
-                                        }
-                                    }
-                                    if (!pass) continue;
+                                    if (!this.probeLight(optional, liar, blockpos)) continue;
                                     else useLiar = true;
                                 }
                                 else if (!this.checkSpawnRules(optional, pServerLevel, blockpos)) continue;
                             }
 
+                            // Once the count is known, stop before loading an entity that could not be added anyway.
+                            if (countedClass != null && nearby >= this.maxNearbyEntities) {
+                                this.delay(pServerLevel, pPos);
+                                return;
+                            }
+
                             Entity entity = EntityType.loadEntityRecursive(tag, pServerLevel, p_151310_ -> {
                                 p_151310_.moveTo(d0, d1, d2, p_151310_.getYRot(), p_151310_.getXRot());
                                 return p_151310_;
@@ -208,8 +232,11 @@ public class ApothSpawnerTile extends SpawnerBlockEntity {
                             }
                             if (ApothSpawnerTile.this.silent) entity.setSilent(true);
 
-                            int k = pServerLevel.getEntitiesOfClass(entity.getClass(), new AABB(pPos.getX(), pPos.getY(), pPos.getZ(), pPos.getX() + 1, pPos.getY() + 1, pPos.getZ() + 1).inflate(this.spawnRange)).size();
-                            if (k >= this.maxNearbyEntities) {
+                            if (countedClass != entity.getClass()) {
+                                countedClass = entity.getClass();
+                                nearby = pServerLevel.getEntitiesOfClass(countedClass, range).size();
+                            }
+                            if (nearby >= this.maxNearbyEntities) {
                                 this.delay(pServerLevel, pPos);
                                 return;
                             }
@@ -237,6 +264,7 @@ public class ApothSpawnerTile extends SpawnerBlockEntity {
                                 return;
                             }
 
+                            nearby += (int) entity.getSelfAndPassengers().filter(countedClass::isInstance).count();
                             pServerLevel.levelEvent(2004, pPos, 0);
                             if (entity instanceof Mob) {
                                 ((Mob) entity).spawnAnim();
@@ -254,6 +282,54 @@ public class ApothSpawnerTile extends SpawnerBlockEntity {
             }
         }
 
+        /**
+         * Returns the reusable {@link LyingLevel} for this spawner, recreating it if the spawner has changed levels.
+         */
+        protected LyingLevel getLiar(ServerLevel level) {
+            if (this.liar == null || this.liar.wrapped != level) this.liar = new LyingLevel(level);
+            return this.liar;
+        }
+
+        /**
+         * Searches for a fake light level at which the requested entity passes spawn rule checks, and applies it to the liar.<br>
+         * The first passing light level is remembered for the current entity and custom spawn rules, and is tried first on later attempts,
+         * so the full search only runs when the remembered level fails at a specific position.
+         *
+         * @return If any light level passed.
+         */
+        protected boolean probeLight(Optional<EntityType<?>> optional, LyingLevel liar, BlockPos blockpos) {
+            Optional<SpawnData.CustomSpawnRules> rules = this.nextSpawnData.getCustomSpawnRules();
+            if (this.probedType != optional.get() || !rules.equals(this.probedRules)) {
+                this.invalidateLightProbe();
+                this.probedType = optional.get();
+                this.probedRules = rules;
+            }
+
+            if (this.probedLight != -1) {
+                liar.setFakeLightLevel(this.probedLight);
+                if (this.checkSpawnRules(optional, liar, blockpos)) return true;
+            }
+
+            for (int light = 0; light < 16; light++) {
+                if (light == this.probedLight) continue;
+                liar.setFakeLightLevel(light);
+                if (this.checkSpawnRules(optional, liar, blockpos)) {
+                    this.probedLight = light;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Clears the remembered light level. Called when the entity or the stats of this spawner change.
+         */
+        public void invalidateLightProbe() {
+            this.probedLight = -1;
+            this.probedType = null;
+            this.probedRules = null;
+        }
+
         /**
          * Checks if the requested entity passes spawn rule checks or not.
          */
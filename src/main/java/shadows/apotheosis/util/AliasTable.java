@@ -0,0 +1,120 @@
+package shadows.apotheosis.util;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.util.RandomSource;
+import net.minecraft.util.random.WeightedEntry.Wrapper;
+
+/**
+ * An immutable weighted sampler built with Vose's alias method.<br>
+ * Construction is O(n), and each sample is O(1), consuming two random ints.
+ * <p>
+ * Unlike a floating-point alias table, all thresholds are kept in integer space scaled by the total weight,
+ * so the resulting distribution is exactly the one produced by {@link net.minecraft.util.random.WeightedRandom}.
+ */
+public final class AliasTable<T> {
+
+    private static final AliasTable<?> EMPTY = new AliasTable<>(new Object[0], new int[0], new int[0], 0);
+
+    private final Object[] items;
+    private final int[] prob;
+    private final int[] alias;
+    private final int totalWeight;
+
+    private AliasTable(Object[] items, int[] prob, int[] alias, int totalWeight) {
+        this.items = items;
+        this.prob = prob;
+        this.alias = alias;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Builds an alias table from a list of weighted entries. Entries with a weight of zero are discarded.
+     */
+    public static <T> AliasTable<T> of(List<Wrapper<T>> entries) {
+        int n = 0;
+        long total = 0;
+        for (Wrapper<T> w : entries) {
+            int weight = w.getWeight().asInt();
+            if (weight > 0) {
+                n++;
+                total += weight;
+            }
+        }
+        if (n == 0) return empty();
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Total weight of alias table may not exceed Integer.MAX_VALUE");
+
+        Object[] items = new Object[n];
+        long[] scaled = new long[n];
+        int i = 0;
+        for (Wrapper<T> w : entries) {
+            int weight = w.getWeight().asInt();
+            if (weight > 0) {
+                items[i] = w.getData();
+                // Scaled so that the average column holds exactly totalWeight.
+                scaled[i++] = (long) weight * n;
+            }
+        }
+
+        int[] prob = new int[n];
+        int[] alias = new int[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int s = 0, l = 0;
+        for (i = 0; i < n; i++) {
+            if (scaled[i] < total) small[s++] = i;
+            else large[l++] = i;
+        }
+
+        while (s > 0 && l > 0) {
+            int less = small[--s];
+            int more = large[--l];
+            prob[less] = (int) scaled[less];
+            alias[less] = more;
+            scaled[more] -= total - scaled[less];
+            if (scaled[more] < total) small[s++] = more;
+            else large[l++] = more;
+        }
+
+        // Since all arithmetic is exact, any remaining columns hold exactly the total weight.
+        while (l > 0) {
+            int idx = large[--l];
+            prob[idx] = (int) total;
+            alias[idx] = idx;
+        }
+        while (s > 0) {
+            int idx = small[--s];
+            prob[idx] = (int) total;
+            alias[idx] = idx;
+        }
+
+        return new AliasTable<>(items, prob, alias, (int) total);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> AliasTable<T> empty() {
+        return (AliasTable<T>) EMPTY;
+    }
+
+    /**
+     * @return A random element from this table, or null if the table is empty.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T sample(RandomSource rand) {
+        if (this.items.length == 0) return null;
+        int col = rand.nextInt(this.items.length);
+        return (T) (rand.nextInt(this.totalWeight) < this.prob[col] ? this.items[col] : this.items[this.alias[col]]);
+    }
+
+    public boolean isEmpty() {
+        return this.items.length == 0;
+    }
+
+    public int getTotalWeight() {
+        return this.totalWeight;
+    }
+
+}
@@ -19,6 +19,7 @@ import net.minecraftforge.registries.ForgeRegistries;
 import shadows.apotheosis.adventure.loot.LootRarity;
 import shadows.apotheosis.core.attributeslib.AttributesLib;
 import shadows.apotheosis.core.attributeslib.api.IFormattableAttribute;
+import shadows.apotheosis.ench.table.ApothEnchantTile;
 import shadows.apotheosis.ench.table.ApothEnchantmentMenu;
 import shadows.apotheosis.ench.table.ApothEnchantmentMenu.TableStats;
 import shadows.apotheosis.ench.table.EnchantingStatManager;
@@ -73,7 +74,7 @@ public class CommonTooltipUtil {
     }
 
     public static void appendTableStats(Level world, BlockPos pos, Consumer<Component> tooltip) {
-        TableStats stats = ApothEnchantmentMenu.gatherStats(world, pos);
+        TableStats stats = world.getBlockEntity(pos) instanceof ApothEnchantTile tile ? tile.getStats() : ApothEnchantmentMenu.gatherStats(world, pos);
         tooltip.accept(Component.translatable("info.apotheosis.eterna.t", String.format("%.2f", stats.eterna()), String.format("%.2f", EnchantingStatManager.getAbsoluteMaxEterna())).withStyle(ChatFormatting.GREEN));
         tooltip.accept(Component.translatable("info.apotheosis.quanta.t", String.format("%.2f", Math.min(100, stats.quanta()))).withStyle(ChatFormatting.RED));
         tooltip.accept(Component.translatable("info.apotheosis.arcana.t", String.format("%.2f", Math.min(100, stats.arcana()))).withStyle(ChatFormatting.DARK_PURPLE));
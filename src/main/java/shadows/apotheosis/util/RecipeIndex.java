@@ -0,0 +1,158 @@
+package shadows.apotheosis.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+
+/**
+ * An index over all recipes of a single {@link RecipeType}, keyed by the items accepted by one ingredient of each recipe.<br>
+ * Lookups return only the recipes that could accept a given stack, so callers run their full match against a handful of candidates
+ * instead of every loaded recipe.
+ * <p>
+ * Ingredients which do not expose an exact item set (NBT-sensitive or custom ingredients) cannot be indexed, and their recipes are
+ * placed in a wildcard bucket which is a candidate for every item. Candidates are always returned in the same order as the full recipe list
+ * (after applying the optional sort), so the first match is the same as it would be from a linear scan.
+ * <p>
+ * Indices are built lazily per {@link RecipeManager}, and are discarded when recipes or tags are updated.
+ */
+public class RecipeIndex<R extends Recipe<Container>> {
+
+    private static volatile int generation;
+
+    private final RecipeType<R> type;
+    private final Function<R, Ingredient> keyIngredient;
+    private final Comparator<R> order;
+    private final Map<RecipeManager, Index<R>> indices = new WeakHashMap<>();
+
+    /**
+     * @param type          The recipe type to index.
+     * @param keyIngredient The ingredient of each recipe that is used as its key.
+     * @param order         An optional sort applied to the recipe list before indexing, which determines the candidate order.
+     */
+    public RecipeIndex(RecipeType<R> type, Function<R, Ingredient> keyIngredient, @Nullable Comparator<R> order) {
+        this.type = type;
+        this.keyIngredient = keyIngredient;
+        this.order = order;
+    }
+
+    public RecipeIndex(RecipeType<R> type, Function<R, Ingredient> keyIngredient) {
+        this(type, keyIngredient, null);
+    }
+
+    /**
+     * Retrieves all recipes whose key ingredient may accept the given stack. The key ingredient has not been tested against the stack.
+     *
+     * @param manager The recipe manager to pull recipes from.
+     * @param stack   The stack that will be tested against the key ingredient.
+     * @return An unmodifiable, ordered list of candidate recipes.
+     */
+    public List<R> getCandidates(RecipeManager manager, ItemStack stack) {
+        return this.getIndex(manager).getCandidates(stack.getItem());
+    }
+
+    /**
+     * Finds the first recipe whose key ingredient accepts the given stack.
+     *
+     * @return The first matching recipe, or null if no recipes match.
+     */
+    @Nullable
+    public R findFirst(RecipeManager manager, ItemStack stack) {
+        for (R r : this.getCandidates(manager, stack)) {
+            if (this.keyIngredient.apply(r).test(stack)) return r;
+        }
+        return null;
+    }
+
+    protected Index<R> getIndex(RecipeManager manager) {
+        int gen = generation;
+        synchronized (this.indices) {
+            Index<R> index = this.indices.get(manager);
+            if (index == null || index.generation != gen) {
+                index = this.build(manager, gen);
+                this.indices.put(manager, index);
+            }
+            return index;
+        }
+    }
+
+    protected Index<R> build(RecipeManager manager, int gen) {
+        List<R> recipes = new ArrayList<>(manager.getAllRecipesFor(this.type));
+        if (this.order != null) recipes.sort(this.order);
+
+        Map<Item, List<R>> byItem = new IdentityHashMap<>();
+        List<R> wildcard = new ArrayList<>();
+        for (R r : recipes) {
+            Ingredient ing = this.keyIngredient.apply(r);
+            if (!isIndexable(ing)) {
+                wildcard.add(r);
+                // Wildcard recipes must also appear in every item bucket that already exists, to preserve ordering.
+                for (List<R> list : byItem.values())
+                    list.add(r);
+                continue;
+            }
+            for (ItemStack s : ing.getItems()) {
+                List<R> list = byItem.computeIfAbsent(s.getItem(), k -> new ArrayList<>(wildcard));
+                if (list.isEmpty() || list.get(list.size() - 1) != r) list.add(r);
+            }
+        }
+
+        byItem.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        return new Index<>(gen, byItem, Collections.unmodifiableList(wildcard));
+    }
+
+    /**
+     * Only vanilla ingredients (or ingredients flagged as simple) are guaranteed to reject any item they do not list.
+     * The empty ingredient matches empty stacks, which the item index cannot represent, so it is treated as a wildcard.
+     */
+    protected static boolean isIndexable(Ingredient ing) {
+        if (ing.isEmpty()) return false;
+        return ing.getClass() == Ingredient.class || ing.isSimple();
+    }
+
+    /**
+     * @return A counter which is incremented whenever indices are discarded. Recipes resolved under an older generation may be stale.
+     */
+    public static int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Discards all built indices. They will be rebuilt on demand.
+     */
+    public static void invalidateAll() {
+        generation++;
+    }
+
+    public static void tagsUpdated(TagsUpdatedEvent e) {
+        invalidateAll();
+    }
+
+    public static void recipesUpdated(RecipesUpdatedEvent e) {
+        invalidateAll();
+    }
+
+    protected static record Index<R> (int generation, Map<Item, List<R>> byItem, List<R> wildcard) {
+
+        List<R> getCandidates(Item item) {
+            return this.byItem.getOrDefault(item, this.wildcard);
+        }
+    }
+
+}